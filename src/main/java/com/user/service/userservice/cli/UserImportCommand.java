@@ -0,0 +1,82 @@
+package com.user.service.userservice.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO;
+import com.user.service.userservice.service.UserImportService;
+import com.user.service.userservice.util.UserDataFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Command line mode of the bulk import
+ * Started with {@code --user.import.file=<path>}, the application imports the file through the same
+ * {@link UserImportService} as {@code POST /api/user/bulk}, writes the report to
+ * {@code --user.import.report=<path>} if given, and exits. The exit code is 0 if every row was created
+ * and 1 otherwise.
+ */
+@Component
+@ConditionalOnProperty(UserImportCommand.IMPORT_FILE_PROPERTY)
+@Slf4j
+public class UserImportCommand implements ApplicationRunner, ExitCodeGenerator {
+
+    static final String IMPORT_FILE_PROPERTY = "user.import.file";
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final Path report;
+    private int exitCode;
+
+    public UserImportCommand(UserImportService userImportService,
+                             ObjectMapper objectMapper,
+                             @Value("${user.import.file}") Path file,
+                             @Value("${user.import.report:}") String report) {
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.report = report.isEmpty() ? null : Path.of(report);
+    }
+
+    /**
+     * Check whether the command line asks for an import, before the application context exists
+     *
+     * @param args command line arguments
+     * @return true if an import file is given
+     */
+    public static boolean isImport(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + IMPORT_FILE_PROPERTY + "="));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Importing users from {}", file);
+        BulkImportResponseDTO response;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            response = userImportService.importUsers(reader, UserDataFormat.fromFileName(file.toString()));
+        }
+        if (report != null) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), response);
+            log.info("Import report written to {}", report);
+        }
+        log.info("Import finished: {} rows, {} created, {} failed",
+                response.getTotal(), response.getCreated(), response.getFailed());
+        exitCode = response.getFailed() == 0 ? 0 : 1;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
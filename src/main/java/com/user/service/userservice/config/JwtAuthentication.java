@@ -0,0 +1,76 @@
+package com.user.service.userservice.config;
+
+import com.user.service.userservice.util.VerifiedToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Authentication backed by a verified JWT
+ * Unlike {@code UsernamePasswordAuthenticationToken}, which copies its authorities into a new list,
+ * this hands out the token's shared immutable authority set as is.
+ */
+public class JwtAuthentication implements Authentication {
+
+    private final VerifiedToken verifiedToken;
+    private final Object details;
+    private boolean authenticated = true;
+
+    public JwtAuthentication(VerifiedToken verifiedToken, Object details) {
+        this.verifiedToken = verifiedToken;
+        this.details = details;
+    }
+
+    /**
+     * Get the verified token behind this authentication
+     *
+     * @return verified token
+     */
+    public VerifiedToken getVerifiedToken() {
+        return verifiedToken;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return verifiedToken.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return details;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return verifiedToken.getSubject();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (isAuthenticated) {
+            throw new IllegalArgumentException("A JWT authentication cannot be re-marked as authenticated");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public String getName() {
+        return verifiedToken.getSubject();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [Principal=" + getName() + ", Authorities=" + getAuthorities() + "]";
+    }
+}
@@ -1,31 +1,37 @@
 package com.user.service.userservice.config;
 
-import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.util.VerifiedToken;
+import com.user.service.userservice.util.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * JWT Authentication Filter
  * Intercepts requests and validates JWT tokens
+ * Repeat tokens are served from {@link VerifiedTokenCache} instead of being re-verified
+ * Revoked tokens are rejected via {@link TokenRevocationService}
+ * Authorities come from the token's roles claim as a shared immutable set, without a database query
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -33,7 +39,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.debug("No valid Authorization header found for request: {}", request.getRequestURI());
@@ -45,25 +50,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         log.debug("Extracted JWT token for request: {}", request.getRequestURI());
 
         try {
-            username = jwtUtil.extractUsername(jwt);
-            log.debug("Extracted username from JWT: {}", username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                VerifiedToken verifiedToken = verifiedTokenCache.verify(jwt);
+                String username = verifiedToken.getSubject();
+                log.debug("JWT token is valid for user: {}", username);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                if (jwtUtil.validateToken(jwt, username)) {
-                    log.debug("JWT token is valid for user: {}", username);
-                    
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username, null, new ArrayList<>()
+                if (tokenRevocationService.isRevoked(verifiedToken)) {
+                    log.warn("Revoked JWT token presented for user: {}", username);
+                } else if (username != null) {
+                    JwtAuthentication authToken = new JwtAuthentication(
+                        verifiedToken, authenticationDetailsSource.buildDetails(request)
                     );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
+
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     log.debug("Authentication set in SecurityContext for user: {}", username);
-                } else {
-                    log.warn("JWT token validation failed for user: {}", username);
                 }
             }
+        } catch (JwtException e) {
+            log.warn("JWT token validation failed: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Error processing JWT token: {}", e.getMessage());
         }
@@ -0,0 +1,144 @@
+package com.user.service.userservice.config;
+
+import com.user.service.userservice.util.CalibratedBCryptPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password encoder configuration
+ * New hashes are written by the algorithm selected with {@code password.encoder} and tagged with its id,
+ * e.g. {@code {argon2id}$argon2id$v=19$...}. Stored hashes are verified by the algorithm named in their
+ * tag; untagged hashes from before tagging are BCrypt. At the next successful login, hashes written by another
+ * algorithm are re-encoded with the current one, and hashes of the current algorithm only when their parameters
+ * are weaker than the current settings; stronger hashes are kept.
+ */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2ID = "argon2id";
+    public static final String SCRYPT = "scrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    /**
+     * Algorithm id used for new hashes
+     */
+    @Value("${password.encoder:bcrypt}")
+    private String encoderId = BCRYPT;
+
+    /**
+     * BCrypt strength, or 0 to calibrate to {@link #bcryptTargetLatency} at startup
+     */
+    @Value("${password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${password.bcrypt.target-latency:50ms}")
+    private Duration bcryptTargetLatency = Duration.ofMillis(50);
+
+    @Value("${password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength = 10;
+
+    @Value("${password.bcrypt.max-strength:16}")
+    private int bcryptMaxStrength = 16;
+
+    /**
+     * Argon2id memory in KiB; the OWASP minimum is 19 MiB with 2 iterations
+     */
+    @Value("${password.argon2.memory:19456}")
+    private int argon2Memory = 19456;
+
+    @Value("${password.argon2.iterations:2}")
+    private int argon2Iterations = 2;
+
+    @Value("${password.argon2.parallelism:1}")
+    private int argon2Parallelism = 1;
+
+    @Value("${password.argon2.salt-length:16}")
+    private int argon2SaltLength = 16;
+
+    @Value("${password.argon2.hash-length:32}")
+    private int argon2HashLength = 32;
+
+    /**
+     * scrypt N; memory per hash is 128 * N * r bytes
+     */
+    @Value("${password.scrypt.cpu-cost:65536}")
+    private int scryptCpuCost = 65536;
+
+    @Value("${password.scrypt.memory-cost:8}")
+    private int scryptMemoryCost = 8;
+
+    @Value("${password.scrypt.parallelism:1}")
+    private int scryptParallelism = 1;
+
+    @Value("${password.scrypt.key-length:32}")
+    private int scryptKeyLength = 32;
+
+    @Value("${password.scrypt.salt-length:16}")
+    private int scryptSaltLength = 16;
+
+    @Value("${password.pbkdf2.iterations:600000}")
+    private int pbkdf2Iterations = 600000;
+
+    @Value("${password.pbkdf2.salt-length:16}")
+    private int pbkdf2SaltLength = 16;
+
+    @Value("${password.pbkdf2.algorithm:PBKDF2WithHmacSHA256}")
+    private String pbkdf2Algorithm = "PBKDF2WithHmacSHA256";
+
+    /**
+     * Password encoder bean
+     *
+     * @return delegating encoder over all supported algorithms
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt());
+        encoders.put(ARGON2ID, new Argon2PasswordEncoder(
+                argon2SaltLength, argon2HashLength, argon2Parallelism, argon2Memory, argon2Iterations));
+        encoders.put(SCRYPT, new SCryptPasswordEncoder(
+                scryptCpuCost, scryptMemoryCost, scryptParallelism, scryptKeyLength, scryptSaltLength));
+        encoders.put(PBKDF2, new Pbkdf2PasswordEncoder("", pbkdf2SaltLength, pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.valueOf(pbkdf2Algorithm)));
+        log.info("New passwords are hashed with {}", encoderId);
+        return delegating(encoderId, encoders);
+    }
+
+    /**
+     * Create a prefix-tagged encoder that also verifies untagged legacy BCrypt hashes
+     *
+     * @param encoderId id of the algorithm used for new hashes
+     * @param encoders encoders by id, must contain {@link #BCRYPT}
+     * @return delegating encoder
+     * @throws IllegalArgumentException if encoderId is unknown
+     */
+    public static DelegatingPasswordEncoder delegating(String encoderId, Map<String, PasswordEncoder> encoders) {
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalArgumentException("Unknown password encoder '" + encoderId
+                    + "', expected one of " + encoders.keySet());
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+
+    private PasswordEncoder bcrypt() {
+        if (bcryptStrength > 0) {
+            return new CalibratedBCryptPasswordEncoder(bcryptStrength);
+        }
+        return CalibratedBCryptPasswordEncoder.calibrate(bcryptTargetLatency, bcryptMinStrength, bcryptMaxStrength);
+    }
+}
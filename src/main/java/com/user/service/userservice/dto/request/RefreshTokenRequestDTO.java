@@ -0,0 +1,25 @@
+package com.user.service.userservice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for exchanging a refresh token for a new access token
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDTO {
+
+    /**
+     * Refresh token returned by login or by a previous refresh
+     */
+    @NotBlank(message = "Refresh token is required")
+    @Size(max = 100, message = "Refresh token must be at most 100 characters")
+    private String refreshToken;
+}
@@ -0,0 +1,33 @@
+package com.user.service.userservice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batch token introspection request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionRequestDTO {
+
+    /**
+     * Maximum number of tokens per request
+     */
+    public static final int MAX_TOKENS = 500;
+
+    /**
+     * Access tokens to check, results are returned in the same order
+     */
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = MAX_TOKENS, message = "At most " + MAX_TOKENS + " tokens can be introspected per request")
+    private List<@NotBlank(message = "Token must not be blank") String> tokens;
+}
@@ -0,0 +1,107 @@
+package com.user.service.userservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * DTO for bulk user import response
+ * Contains counts and one result per imported row, in input order
+ */
+@Data
+@Builder
+public class BulkImportResponseDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<Result> results;
+
+    /**
+     * Static factory method for creating import response
+     */
+    public static BulkImportResponseDTO of(List<Result> results) {
+        int created = (int) results.stream().filter(result -> result.getStatus() == Status.CREATED).count();
+        return BulkImportResponseDTO.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Outcome of a single row
+     */
+    public enum Status {
+        /** The user was created */
+        CREATED,
+        /** The row could not be parsed or failed validation */
+        INVALID,
+        /** The username or email appeared on an earlier row of the same import */
+        DUPLICATE,
+        /** The username or email already belongs to an existing user */
+        CONFLICT,
+        /** The user could not be written for another reason */
+        FAILED
+    }
+
+    /**
+     * Import result of a single row
+     * Created results carry the new user's ID, all others a message
+     */
+    @Value
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+
+        /**
+         * Line number in the import body, starting at 1
+         */
+        int line;
+
+        /**
+         * Username of the row, if it could be read
+         */
+        String username;
+
+        Status status;
+
+        /**
+         * ID of the created user
+         */
+        Long id;
+
+        /**
+         * Reason the row was not imported
+         */
+        String message;
+
+        /**
+         * Static factory method for a created user
+         */
+        public static Result created(int line, String username, Long id) {
+            return Result.builder()
+                    .line(line)
+                    .username(username)
+                    .status(Status.CREATED)
+                    .id(id)
+                    .build();
+        }
+
+        /**
+         * Static factory method for a row that was not imported
+         */
+        public static Result rejected(int line, String username, Status status, String message) {
+            return Result.builder()
+                    .line(line)
+                    .username(username)
+                    .status(status)
+                    .message(message)
+                    .build();
+        }
+    }
+}
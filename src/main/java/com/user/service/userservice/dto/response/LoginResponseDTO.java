@@ -29,6 +29,16 @@ public class LoginResponseDTO {
      */
     private Long expiresIn;
 
+    /**
+     * Opaque refresh token for obtaining a new access token
+     */
+    private String refreshToken;
+
+    /**
+     * Refresh token expiration time in milliseconds
+     */
+    private Long refreshExpiresIn;
+
     /**
      * User ID
      */
@@ -69,4 +79,21 @@ public class LoginResponseDTO {
                 .fullName(fullName)
                 .build();
     }
+
+    /**
+     * Static factory method for creating login response with a refresh token
+     */
+    public static LoginResponseDTO of(String token, Long expiresIn, String refreshToken, Long refreshExpiresIn,
+                                    Long userId, String username, String email, String fullName) {
+        return LoginResponseDTO.builder()
+                .token(token)
+                .expiresIn(expiresIn)
+                .refreshToken(refreshToken)
+                .refreshExpiresIn(refreshExpiresIn)
+                .userId(userId)
+                .username(username)
+                .email(email)
+                .fullName(fullName)
+                .build();
+    }
 }
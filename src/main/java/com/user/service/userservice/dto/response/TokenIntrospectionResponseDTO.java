@@ -0,0 +1,79 @@
+package com.user.service.userservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * DTO for batch token introspection response
+ * Contains one result per requested token, in request order
+ */
+@Data
+@Builder
+public class TokenIntrospectionResponseDTO {
+
+    private List<Result> results;
+
+    /**
+     * Static factory method for creating introspection response
+     */
+    public static TokenIntrospectionResponseDTO of(List<Result> results) {
+        return TokenIntrospectionResponseDTO.builder()
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Introspection result of a single token
+     * Inactive results carry no claims
+     */
+    @Value
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+
+        private static final Result INACTIVE = Result.builder().active(false).build();
+
+        /**
+         * Whether the token is valid, unexpired and not revoked
+         */
+        boolean active;
+
+        /**
+         * Token subject (username)
+         */
+        String subject;
+
+        /**
+         * User ID
+         */
+        Long userId;
+
+        /**
+         * Expiration time in epoch seconds
+         */
+        Long exp;
+
+        /**
+         * Static factory method for an active token
+         */
+        public static Result active(String subject, Long userId, Long exp) {
+            return Result.builder()
+                    .active(true)
+                    .subject(subject)
+                    .userId(userId)
+                    .exp(exp)
+                    .build();
+        }
+
+        /**
+         * Shared result for every inactive token
+         */
+        public static Result inactive() {
+            return INACTIVE;
+        }
+    }
+}
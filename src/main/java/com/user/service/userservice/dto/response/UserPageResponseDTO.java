@@ -0,0 +1,32 @@
+package com.user.service.userservice.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the admin user listing
+ * There is no total count; a null next cursor marks the last page
+ */
+@Data
+@Builder
+public class UserPageResponseDTO {
+
+    private List<UserSummaryDTO> users;
+
+    /**
+     * Cursor of the next page, null on the last page
+     */
+    private String nextCursor;
+
+    /**
+     * Static factory method for creating page response
+     */
+    public static UserPageResponseDTO of(List<UserSummaryDTO> users, String nextCursor) {
+        return UserPageResponseDTO.builder()
+                .users(users)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
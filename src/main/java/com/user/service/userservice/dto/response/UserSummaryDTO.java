@@ -0,0 +1,40 @@
+package com.user.service.userservice.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a user in admin listings
+ * Contains account information without credentials
+ */
+@Data
+@Builder
+public class UserSummaryDTO {
+
+    private Long id;
+    private String username;
+    private String email;
+    private String fullName;
+    private List<String> roles;
+    private LocalDateTime createdAt;
+    private LocalDateTime lockedUntil;
+
+    /**
+     * Static factory method for creating user summary
+     */
+    public static UserSummaryDTO of(Long id, String username, String email, String fullName,
+                                    List<String> roles, LocalDateTime createdAt, LocalDateTime lockedUntil) {
+        return UserSummaryDTO.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .fullName(fullName)
+                .roles(roles)
+                .createdAt(createdAt)
+                .lockedUntil(lockedUntil)
+                .build();
+    }
+}
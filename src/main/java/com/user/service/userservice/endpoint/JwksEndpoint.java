@@ -0,0 +1,58 @@
+package com.user.service.userservice.endpoint;
+
+import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.util.PublicJwkSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * REST controller publishing the JWT verification keys
+ * Lets downstream services verify ES256/EdDSA tokens locally instead of calling this service
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class JwksEndpoint {
+
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.jwks.max-age:300}")
+    private long maxAgeSeconds;
+
+    /**
+     * Get the public JSON Web Key Set
+     *
+     * @param ifNoneMatch ETag previously returned to the client
+     * @return ResponseEntity with the JWK set, or 304 when the client copy is current
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> getJwks(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        PublicJwkSet jwkSet = jwtUtil.getPublicJwkSet();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+
+        if (jwkSet.getEtag().equals(ifNoneMatch)) {
+            log.debug("JWKS not modified for ETag {}", ifNoneMatch);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwkSet.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jwkSet.getEtag())
+                .cacheControl(cacheControl)
+                .body(jwkSet.toDocument());
+    }
+}
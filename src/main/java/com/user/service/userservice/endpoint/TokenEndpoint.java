@@ -0,0 +1,38 @@
+package com.user.service.userservice.endpoint;
+
+import com.user.service.userservice.dto.request.TokenIntrospectionRequestDTO;
+import com.user.service.userservice.dto.response.TokenIntrospectionResponseDTO;
+import com.user.service.userservice.service.TokenIntrospectionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for token operations used by other services
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/user/tokens")
+public class TokenEndpoint {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * Check a batch of access tokens in one call (protected endpoint)
+     *
+     * @param tokenIntrospectionRequestDTO request containing up to 500 tokens
+     * @return ResponseEntity with one result per token, in request order
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<TokenIntrospectionResponseDTO> introspect(
+            @Valid @RequestBody TokenIntrospectionRequestDTO tokenIntrospectionRequestDTO) {
+        log.info("Received introspection request for {} tokens", tokenIntrospectionRequestDTO.getTokens().size());
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(tokenIntrospectionRequestDTO));
+    }
+}
@@ -0,0 +1,100 @@
+package com.user.service.userservice.endpoint;
+
+import com.user.service.userservice.dto.response.UserPageResponseDTO;
+import com.user.service.userservice.dto.response.UserSummaryDTO;
+import com.user.service.userservice.service.UserAdminService;
+import com.user.service.userservice.service.UserExportService;
+import com.user.service.userservice.util.PageCursor;
+import com.user.service.userservice.util.UserDataFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * REST controller for user administration (admin only)
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/user/admin")
+public class UserAdminEndpoint {
+
+    private final UserAdminService userAdminService;
+    private final UserExportService userExportService;
+
+    /**
+     * List users newest first, one page at a time
+     *
+     * @param cursor nextCursor of the previous page, absent for the first page
+     * @param size page size, capped at user.list.max-page-size
+     * @param role only users with this role
+     * @param locked only users that are, or are not, currently locked
+     * @return ResponseEntity with the page and the cursor of the next one
+     */
+    @GetMapping("/users")
+    public ResponseEntity<UserPageResponseDTO> listUsers(@RequestParam(required = false) PageCursor cursor,
+                                                         @RequestParam(defaultValue = "50") int size,
+                                                         @RequestParam(required = false) String role,
+                                                         @RequestParam(required = false) Boolean locked) {
+        log.info("Received user listing request with role: {}, locked: {}", role, locked);
+        return ResponseEntity.ok(userAdminService.listUsers(cursor, role, locked, size));
+    }
+
+    /**
+     * Search users by part of their username, email or full name, ignoring case
+     *
+     * @param q search term of at least three characters
+     * @param limit maximum number of results, capped at user.search.max-results
+     * @return ResponseEntity with the matching users, best first
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<List<UserSummaryDTO>> searchUsers(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        log.info("Received user search request for: {}", q);
+        return ResponseEntity.ok(userAdminService.searchUsers(q, limit));
+    }
+
+    /**
+     * Export users updated within an optional range
+     * Rows are written to the response as they are read from the database, so the response is neither
+     * buffered in memory nor bounded in size; the request thread is held until the export is done.
+     *
+     * @param format NDJSON or CSV
+     * @param updatedFrom inclusive lower bound of the update time, ISO-8601
+     * @param updatedTo exclusive upper bound of the update time, ISO-8601
+     * @param response HTTP response the export is streamed to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/users/export")
+    public void exportUsers(@RequestParam(defaultValue = "NDJSON") UserDataFormat format,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+                            HttpServletResponse response) throws IOException {
+        log.info("Received user export request as {} for updates from {} to {}", format, updatedFrom, updatedTo);
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users." + format.name().toLowerCase(Locale.ROOT))
+                .build()
+                .toString());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        userExportService.exportUsers(writer, format, updatedFrom, updatedTo);
+    }
+}
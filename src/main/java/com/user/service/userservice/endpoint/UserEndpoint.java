@@ -1,20 +1,39 @@
 package com.user.service.userservice.endpoint;
 
 import com.user.service.userservice.dto.request.LoginRequestDTO;
+import com.user.service.userservice.dto.request.RefreshTokenRequestDTO;
 import com.user.service.userservice.dto.request.RegisterRequestDTO;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO;
 import com.user.service.userservice.dto.response.LoginResponseDTO;
 import com.user.service.userservice.dto.response.RegisterResponseDTO;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.service.UserImportService;
 import com.user.service.userservice.service.UserService;
+import com.user.service.userservice.util.LoginRateLimiter;
+import com.user.service.userservice.util.PasswordHashingExecutor;
+import com.user.service.userservice.util.UserDataFormat;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for user-related operations
  * Handles user registration and authentication endpoints
+ * Registration and login return asynchronously; only their BCrypt work runs on {@link PasswordHashingExecutor}
+ * Login attempts pass {@link LoginRateLimiter} first, so over-limit attempts never reach the database
  */
 @Slf4j
 @RestController
@@ -23,33 +42,87 @@ import org.springframework.web.bind.annotation.*;
 public class UserEndpoint {
 
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final UserImportService userImportService;
 
     /**
      * Register a new user
      *
      * @param registerRequestDTO registration request containing user details
-     * @return ResponseEntity with registration response
+     * @return future ResponseEntity with registration response
      */
     @PostMapping("/register")
-    public ResponseEntity<RegisterResponseDTO> registerUser(@Valid @RequestBody RegisterRequestDTO registerRequestDTO) {
+    public CompletableFuture<ResponseEntity<RegisterResponseDTO>> registerUser(@Valid @RequestBody RegisterRequestDTO registerRequestDTO) {
         log.info("Received registration request for username: {}", registerRequestDTO.getUsername());
-        RegisterResponseDTO response = userService.registerUser(registerRequestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return userService.registerUser(registerRequestDTO)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
     /**
      * Authenticate user and generate JWT token
      *
      * @param loginRequestDTO login request containing credentials
-     * @return ResponseEntity with login response including JWT token
+     * @param request HTTP request, for the client address
+     * @return future ResponseEntity with login response including JWT token
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> loginUser(@Valid @RequestBody LoginRequestDTO loginRequestDTO) {
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> loginUser(@Valid @RequestBody LoginRequestDTO loginRequestDTO,
+                                                                         HttpServletRequest request) {
         log.info("Received login request for identifier: {}", loginRequestDTO.getEmailOrUsername());
-        LoginResponseDTO response = userService.loginUser(loginRequestDTO);
+        loginRateLimiter.checkLogin(loginRequestDTO.getEmailOrUsername(), request.getRemoteAddr());
+        return userService.loginUser(loginRequestDTO)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Import users from a CSV or NDJSON body (admin only)
+     * The body is streamed, not buffered; passwords are hashed on the import's own pool, so the request thread
+     * is held for the whole import and registrations keep their hashing capacity.
+     *
+     * @param request HTTP request with the import body, UTF-8 unless its content type names a charset
+     * @return ResponseEntity with one result per row
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = {UserDataFormat.CSV_MEDIA_TYPE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResponseDTO> importUsers(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        log.info("Received bulk import request with content type: {}", contentType);
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            BulkImportResponseDTO response = userImportService.importUsers(reader,
+                    UserDataFormat.fromContentType(request.getContentType()));
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * Exchange a refresh token for a new access token
+     * The presented refresh token is spent and replaced by the one in the response
+     *
+     * @param refreshTokenRequestDTO request containing the refresh token
+     * @return ResponseEntity with new access and refresh tokens
+     */
+    @PostMapping("/token/refresh")
+    public ResponseEntity<LoginResponseDTO> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        log.info("Received token refresh request");
+        LoginResponseDTO response = userService.refreshToken(refreshTokenRequestDTO);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Revoke the access token of the current request (protected endpoint)
+     *
+     * @param authorization Authorization header with the bearer token
+     * @return ResponseEntity with no content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        log.info("Received logout request");
+        tokenRevocationService.revokeToken(authorization.substring("Bearer ".length()));
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Get current user profile (protected endpoint)
      *
@@ -0,0 +1,55 @@
+package com.user.service.userservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revoked access token, identified by its jti claim
+ * Rows are only needed until the token would have expired anyway. They are inserted once and never updated,
+ * so the entity always reports itself as new and saving it persists without first selecting the row.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken implements Persistable<String> {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String tokenId;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.revokedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,22 @@
+package com.user.service.userservice.exception;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Exception thrown when a login targets an account locked after repeated failed attempts
+ */
+@Getter
+public class AccountLockedException extends RuntimeException {
+
+    /**
+     * Seconds until the lockout ends, sent as the Retry-After header
+     */
+    private final long retryAfterSeconds;
+
+    @Builder
+    public AccountLockedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
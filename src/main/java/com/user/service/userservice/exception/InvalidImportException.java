@@ -0,0 +1,12 @@
+package com.user.service.userservice.exception;
+
+/**
+ * Exception thrown when a bulk import body cannot be read as a whole, e.g. a CSV without the required header
+ * Problems confined to single rows are reported per row instead.
+ */
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.user.service.userservice.exception;
+
+import lombok.Builder;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, revoked or reused
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    @Builder
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
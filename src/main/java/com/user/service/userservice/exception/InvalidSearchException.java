@@ -0,0 +1,11 @@
+package com.user.service.userservice.exception;
+
+/**
+ * Exception thrown when a user search term is too short to be looked up in the trigram indexes
+ */
+public class InvalidSearchException extends RuntimeException {
+
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.user.service.userservice.exception;
+
+/**
+ * Exception thrown when a user search is cancelled for running longer than user.search.timeout
+ * This happens for terms that match a large share of all users; a more specific term avoids it.
+ */
+public class SearchTimeoutException extends RuntimeException {
+
+    public SearchTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.user.service.userservice.exception;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request is shed because a bounded worker pool is full
+ */
+@Getter
+public class ServerBusyException extends RuntimeException {
+
+    /**
+     * Seconds the client should wait before retrying, sent as the Retry-After header
+     */
+    private final long retryAfterSeconds;
+
+    @Builder
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.user.service.userservice.exception;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Exception thrown when login attempts for an identifier or from a client exceed the rate limit
+ */
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    /**
+     * Seconds until the next attempt is allowed, sent as the Retry-After header
+     */
+    private final long retryAfterSeconds;
+
+    @Builder
+    public TooManyLoginAttemptsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
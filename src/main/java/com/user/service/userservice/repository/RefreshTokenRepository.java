@@ -0,0 +1,56 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Find a refresh token, its user and the user's roles in one query
+     *
+     * @param tokenHash SHA-256 hash of the token
+     * @return RefreshToken entity if found, null otherwise
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user u LEFT JOIN FETCH u.roles WHERE r.tokenHash = :tokenHash")
+    RefreshToken findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Mark a token as used unless it was already used or revoked
+     * The conditional update makes concurrent exchanges of the same token race in the database,
+     * so only one of them can succeed.
+     *
+     * @param id refresh token ID
+     * @param now current time
+     * @return 1 if the token was marked, 0 if it had already been used or revoked
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.id = :id AND r.usedAt IS NULL AND r.revokedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Revoke every token of a family
+     *
+     * @param familyId family ID
+     * @param now current time
+     * @return number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.familyId = :familyId AND r.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete tokens that expired before the given time
+     *
+     * @param now current time
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,41 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Find the IDs of revoked tokens that have not expired yet
+     *
+     * @param now current time
+     * @return token IDs
+     */
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") LocalDateTime now);
+
+    /**
+     * Find the IDs of tokens revoked at or after the given time
+     *
+     * @param since lower bound of the revocation time
+     * @return token IDs
+     */
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.revokedAt >= :since")
+    List<String> findTokenIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Delete revocations of tokens that expired before the given time
+     *
+     * @param now current time
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,8 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.entity.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RoleRepository extends JpaRepository<Role, Long> {
+    Role findByName(String name);
+}
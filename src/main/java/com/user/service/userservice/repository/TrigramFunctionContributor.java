@@ -0,0 +1,25 @@
+package com.user.service.userservice.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code trgm_distance(a, b)} for JPQL queries
+ * On PostgreSQL it renders pg_trgm's {@code <->} operator, so ordering by it lets a GiST trigram index return
+ * the nearest matches first. Other databases get a coarse stand-in that only tells exact matches apart.
+ */
+public class TrigramFunctionContributor implements FunctionContributor {
+
+    static final String TRGM_DISTANCE = "trgm_distance";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(?1 <-> ?2)"
+                : "case when ?1 = ?2 then 0.0 else 1.0 end";
+        functionContributions.getFunctionRegistry().registerPattern(TRGM_DISTANCE, pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,21 @@
+package com.user.service.userservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Streaming reads of users for exports, mixed into {@link UserRepository}
+ */
+public interface UserExportRepository {
+
+    /**
+     * Stream the exported columns of all users updated within a range, ordered by update time and ID
+     * Rows are fetched from a server-side cursor {@code user.export.fetch-size} at a time, which PostgreSQL
+     * only opens inside a transaction; the stream must be consumed and closed within that transaction.
+     *
+     * @param updatedFrom inclusive lower bound of updated_at, null for no bound
+     * @param updatedTo exclusive upper bound of updated_at, null for no bound
+     * @return lazily fetched rows
+     */
+    Stream<UserExportRow> streamForExport(LocalDateTime updatedFrom, LocalDateTime updatedTo);
+}
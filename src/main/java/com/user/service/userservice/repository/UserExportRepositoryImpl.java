@@ -0,0 +1,47 @@
+package com.user.service.userservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * JPQL implementation of {@link UserExportRepository}
+ * The query is assembled per call so that an absent bound leaves no predicate behind, and the ordering matches
+ * the (updated_at, id) index so PostgreSQL streams rows from it without sorting the table first.
+ */
+public class UserExportRepositoryImpl implements UserExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${user.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Stream<UserExportRow> streamForExport(LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.user.service.userservice.repository.UserExportRow("
+                + "u.id, u.username, u.email, u.fullName, u.createdAt, u.updatedAt) FROM User u WHERE 1 = 1");
+        if (updatedFrom != null) {
+            jpql.append(" AND u.updatedAt >= :updatedFrom");
+        }
+        if (updatedTo != null) {
+            jpql.append(" AND u.updatedAt < :updatedTo");
+        }
+        jpql.append(" ORDER BY u.updatedAt, u.id");
+
+        TypedQuery<UserExportRow> query = entityManager.createQuery(jpql.toString(), UserExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        if (updatedFrom != null) {
+            query.setParameter("updatedFrom", updatedFrom);
+        }
+        if (updatedTo != null) {
+            query.setParameter("updatedTo", updatedTo);
+        }
+        return query.getResultStream();
+    }
+}
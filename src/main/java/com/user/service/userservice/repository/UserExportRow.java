@@ -0,0 +1,12 @@
+package com.user.service.userservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exported columns of a user
+ * Read by a constructor-expression query, so rows are never registered in the persistence context and an
+ * export holds no more than one fetch of them at a time. Password hashes and lockout state are not exported.
+ */
+public record UserExportRow(Long id, String username, String email, String fullName,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,26 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset-paginated reads of users, mixed into {@link UserRepository}
+ */
+public interface UserListRepository {
+
+    /**
+     * Find a page of users ordered by creation time and ID, newest first
+     * The page starts right after the cursor via a row-value comparison on (created_at, id), which PostgreSQL
+     * answers by seeking in the matching index, so no rows before the page are read or counted.
+     *
+     * @param after position of the last user of the previous page, null for the first page
+     * @param role only users with this role, null for all
+     * @param locked only users that are (true) or are not (false) locked at {@code now}, null for all
+     * @param now time against which lockouts are checked
+     * @param limit maximum number of users
+     * @return users of the page
+     */
+    List<UserListRow> findPage(PageCursor after, String role, Boolean locked, LocalDateTime now, int limit);
+}
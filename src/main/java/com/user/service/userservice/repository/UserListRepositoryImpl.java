@@ -0,0 +1,51 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.util.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JPQL implementation of {@link UserListRepository}
+ * The query is assembled per call so that absent filters leave no predicate behind.
+ */
+public class UserListRepositoryImpl implements UserListRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserListRow> findPage(PageCursor after, String role, Boolean locked, LocalDateTime now, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.user.service.userservice.repository.UserListRow("
+                + "u.id, u.username, u.email, u.fullName, u.createdAt, u.lockedUntil) FROM User u WHERE 1 = 1");
+        if (after != null) {
+            jpql.append(" AND (u.createdAt, u.id) < (:createdAt, :id)");
+        }
+        if (role != null) {
+            jpql.append(" AND EXISTS (SELECT r FROM u.roles r WHERE r.name = :role)");
+        }
+        if (locked != null) {
+            jpql.append(locked
+                    ? " AND u.lockedUntil > :now"
+                    : " AND (u.lockedUntil IS NULL OR u.lockedUntil <= :now)");
+        }
+        jpql.append(" ORDER BY u.createdAt DESC, u.id DESC");
+
+        TypedQuery<UserListRow> query = entityManager.createQuery(jpql.toString(), UserListRow.class)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt());
+            query.setParameter("id", after.id());
+        }
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (locked != null) {
+            query.setParameter("now", now);
+        }
+        return query.getResultList();
+    }
+}
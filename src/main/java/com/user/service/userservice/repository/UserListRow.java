@@ -0,0 +1,11 @@
+package com.user.service.userservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listed columns of a user
+ * Read by a constructor-expression query, so rows are never registered in the persistence context.
+ */
+public record UserListRow(Long id, String username, String email, String fullName,
+                          LocalDateTime createdAt, LocalDateTime lockedUntil) {
+}
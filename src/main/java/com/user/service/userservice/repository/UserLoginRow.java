@@ -0,0 +1,49 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.entity.Role;
+import com.user.service.userservice.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columns of a user needed to log in, one row per role
+ * Read by a constructor-expression query, so rows are never registered in the persistence context.
+ *
+ * @param roleName name of one role of the user, null if the user has none
+ */
+public record UserLoginRow(Long id, String username, String email, String password, String fullName,
+                           int failedLoginAttempts, LocalDateTime lockedUntil, String roleName) {
+
+    /**
+     * Fold the rows of one user into a detached User
+     * Roles of the returned user carry their names only.
+     *
+     * @param rows rows of a login query
+     * @return detached user, null if there are no rows
+     */
+    public static User toUser(List<UserLoginRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        UserLoginRow first = rows.get(0);
+        Set<Role> roles = new HashSet<>();
+        for (UserLoginRow row : rows) {
+            if (row.roleName() != null) {
+                roles.add(Role.of(row.roleName()));
+            }
+        }
+        return User.builder()
+                .id(first.id())
+                .username(first.username())
+                .email(first.email())
+                .password(first.password())
+                .fullName(first.fullName())
+                .failedLoginAttempts(first.failedLoginAttempts())
+                .lockedUntil(first.lockedUntil())
+                .roles(roles)
+                .build();
+    }
+}
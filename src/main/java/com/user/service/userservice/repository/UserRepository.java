@@ -2,19 +2,135 @@ package com.user.service.userservice.repository;
 
 import com.user.service.userservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserExportRepository, UserListRepository,
+        UserSearchRepository {
     User findByUsername(String username);
     User findByEmail(String email);
     
     /**
-     * Find user by either email or username
+     * Find user by either email or username, ignoring case, with roles fetched in the same query
+     * Identifiers containing '@' are emails, all others usernames, so each lookup is a single probe of one
+     * {@code lower(...)} index instead of an OR over two columns.
      *
      * @param emailOrUsername email or username to search for
      * @return User entity if found, null otherwise
      */
-    @Query("SELECT u FROM User u WHERE u.email = :emailOrUsername OR u.username = :emailOrUsername")
-    User findByEmailOrUsername(@Param("emailOrUsername") String emailOrUsername);
+    default User findByEmailOrUsername(String emailOrUsername) {
+        return emailOrUsername.indexOf('@') >= 0
+                ? findByEmailIgnoreCase(emailOrUsername)
+                : findByUsernameIgnoreCase(emailOrUsername);
+    }
+
+    /**
+     * Find user by email, ignoring case, with roles fetched in the same query
+     *
+     * @param email email to search for
+     * @return User entity if found, null otherwise
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE lower(u.email) = lower(:email)")
+    User findByEmailIgnoreCase(@Param("email") String email);
+
+    /**
+     * Find user by username, ignoring case, with roles fetched in the same query
+     *
+     * @param username username to search for
+     * @return User entity if found, null otherwise
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE lower(u.username) = lower(:username)")
+    User findByUsernameIgnoreCase(@Param("username") String username);
+
+    /**
+     * Find the login columns of a user by either email or username, ignoring case
+     * Reads a projection instead of the entity, with a single probe of the lower(...) index, so nothing is
+     * hydrated into or tracked by the persistence context.
+     *
+     * @param emailOrUsername email or username to search for
+     * @return detached User with its login columns and role names if found, null otherwise
+     */
+    default User findForLogin(String emailOrUsername) {
+        return UserLoginRow.toUser(findLoginRows(emailOrUsername));
+    }
+
+    /**
+     * Find the login rows of a user by either email or username, ignoring case
+     *
+     * @param emailOrUsername email or username to search for
+     * @return one row per role, empty if the user does not exist
+     */
+    default List<UserLoginRow> findLoginRows(String emailOrUsername) {
+        return emailOrUsername.indexOf('@') >= 0
+                ? findLoginRowsByEmail(emailOrUsername)
+                : findLoginRowsByUsername(emailOrUsername);
+    }
+
+    @Query("SELECT new com.user.service.userservice.repository.UserLoginRow(u.id, u.username, u.email, u.password, "
+            + "u.fullName, u.failedLoginAttempts, u.lockedUntil, r.name) "
+            + "FROM User u LEFT JOIN u.roles r WHERE lower(u.email) = lower(:email)")
+    List<UserLoginRow> findLoginRowsByEmail(@Param("email") String email);
+
+    @Query("SELECT new com.user.service.userservice.repository.UserLoginRow(u.id, u.username, u.email, u.password, "
+            + "u.fullName, u.failedLoginAttempts, u.lockedUntil, r.name) "
+            + "FROM User u LEFT JOIN u.roles r WHERE lower(u.username) = lower(:username)")
+    List<UserLoginRow> findLoginRowsByUsername(@Param("username") String username);
+
+    /**
+     * Find the IDs of users whose row was updated at or after the given time
+     *
+     * @param since lower bound of the update time
+     * @return user IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Find which of the given usernames are taken, ignoring case
+     *
+     * @param usernames lower-cased usernames
+     * @return the lower-cased usernames that belong to existing users
+     */
+    @Query("SELECT lower(u.username) FROM User u WHERE lower(u.username) IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Find which of the given emails are taken, ignoring case
+     *
+     * @param emails lower-cased emails
+     * @return the lower-cased emails that belong to existing users
+     */
+    @Query("SELECT lower(u.email) FROM User u WHERE lower(u.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find the role names of the given users
+     *
+     * @param userIds user IDs
+     * @return one row per user and role, users without roles have none
+     */
+    @Query("SELECT new com.user.service.userservice.repository.UserRoleRow(u.id, r.name) "
+            + "FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleRow> findRoleNames(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Replace a password hash unless the password was changed in the meantime
+     *
+     * @param id user ID
+     * @param currentPassword hash the caller verified against
+     * @param newPassword replacement hash of the same password
+     * @return 1 if the hash was replaced, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword, u.updatedAt = LOCAL DATETIME "
+            + "WHERE u.id = :id AND u.password = :currentPassword")
+    int updatePassword(@Param("id") Long id, @Param("currentPassword") String currentPassword,
+                       @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,7 @@
+package com.user.service.userservice.repository;
+
+/**
+ * One role of a user
+ */
+public record UserRoleRow(Long userId, String roleName) {
+}
@@ -0,0 +1,22 @@
+package com.user.service.userservice.repository;
+
+import java.util.List;
+
+/**
+ * Substring search over users, mixed into {@link UserRepository}
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Find users whose username, email or full name contains a term, ignoring case
+     * The match is a {@code lower(...) LIKE '%term%'} per column, which PostgreSQL answers from the trigram
+     * indexes of the three columns. Users rank by the trigram distance of their closest column to the term, so
+     * exact matches come first, then ties go to shorter usernames.
+     * The query is cancelled once it runs longer than user.search.timeout.
+     *
+     * @param term lower case search term, matched literally
+     * @param limit maximum number of users
+     * @return matching users, best first
+     */
+    List<UserListRow> search(String term, int limit);
+}
@@ -0,0 +1,71 @@
+package com.user.service.userservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of {@link UserSearchRepository}
+ * Each column is searched by its own query that orders by trigram distance to the term and stops at the limit,
+ * so PostgreSQL walks the column's GiST trigram index nearest match first instead of sorting every match. The
+ * three short lists are then merged by distance. The term's LIKE wildcards are escaped with '!' rather than a
+ * backslash, which would need escaping itself in JPQL. The timeout is a JDBC statement timeout, so it is
+ * rounded up to whole seconds.
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final String SEARCH_QUERY = "SELECT new com.user.service.userservice.repository.UserListRow("
+            + "u.id, u.username, u.email, u.fullName, u.createdAt, u.lockedUntil), "
+            + TrigramFunctionContributor.TRGM_DISTANCE + "(lower(u.%1$s), :term) FROM User u"
+            + " WHERE lower(u.%1$s) LIKE :contains ESCAPE '!'"
+            + " ORDER BY " + TrigramFunctionContributor.TRGM_DISTANCE + "(lower(u.%1$s), :term)";
+
+    private static final List<String> COLUMNS = List.of("username", "email", "fullName");
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::distance)
+            .thenComparingInt(hit -> hit.row().username().length())
+            .thenComparing(hit -> hit.row().id());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${user.search.timeout:1s}")
+    private Duration timeout;
+
+    @Override
+    public List<UserListRow> search(String term, int limit) {
+        String escaped = term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        int timeoutSeconds = (int) Math.max(1, timeout.plusMillis(999).toSeconds());
+        Map<Long, Hit> hits = new HashMap<>();
+        for (String column : COLUMNS) {
+            List<Object[]> rows = entityManager.createQuery(SEARCH_QUERY.formatted(column), Object[].class)
+                    .setParameter("term", term)
+                    .setParameter("contains", "%" + escaped + "%")
+                    .setHint(HibernateHints.HINT_TIMEOUT, timeoutSeconds)
+                    .setMaxResults(limit)
+                    .getResultList();
+            for (Object[] row : rows) {
+                Hit hit = new Hit((UserListRow) row[0], ((Number) row[1]).doubleValue());
+                hits.merge(hit.row().id(), hit, (a, b) -> a.distance() <= b.distance() ? a : b);
+            }
+        }
+        return hits.values().stream()
+                .sorted(BEST_FIRST)
+                .limit(limit)
+                .map(Hit::row)
+                .toList();
+    }
+
+    /**
+     * A matching user and the distance of its closest column to the term
+     */
+    private record Hit(UserListRow row, double distance) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.entity.User;
+
+public interface LoginAttemptService {
+
+    /**
+     * Reject a login for a locked account
+     * Answered from memory, so it can run before the password check.
+     *
+     * @param user user being logged in
+     * @throws AccountLockedException if the account is locked
+     */
+    void checkNotLocked(User user);
+
+    /**
+     * Count a failed login, locking the account once the limit is reached
+     *
+     * @param user user whose password check failed
+     */
+    void recordFailure(User user);
+
+    /**
+     * Clear the failure count after a successful login
+     *
+     * @param user user who logged in
+     */
+    void recordSuccess(User user);
+}
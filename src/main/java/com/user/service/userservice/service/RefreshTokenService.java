@@ -0,0 +1,40 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.entity.User;
+
+public interface RefreshTokenService {
+
+    /**
+     * Issue a refresh token that starts a new rotation family
+     *
+     * @param user authenticated user
+     * @return opaque refresh token
+     */
+    String issueToken(User user);
+
+    /**
+     * Exchange a refresh token for a new one of the same family
+     * Presenting a token that was already exchanged revokes its whole family.
+     *
+     * @param refreshToken opaque refresh token
+     * @return owner of the token and the refresh token that replaces it
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or reused
+     */
+    Rotation rotateToken(String refreshToken);
+
+    /**
+     * Get refresh token lifetime
+     *
+     * @return lifetime in milliseconds
+     */
+    Long getExpirationTime();
+
+    /**
+     * Result of a refresh token exchange
+     *
+     * @param user owner of the token
+     * @param refreshToken refresh token that replaces the exchanged one
+     */
+    record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.dto.request.TokenIntrospectionRequestDTO;
+import com.user.service.userservice.dto.response.TokenIntrospectionResponseDTO;
+
+public interface TokenIntrospectionService {
+
+    /**
+     * Check a batch of access tokens
+     * A token is active when its signature is valid, it has not expired and it has not been revoked.
+     *
+     * @param tokenIntrospectionRequestDTO the request containing the tokens
+     * @return TokenIntrospectionResponseDTO with one result per token, in request order
+     */
+    TokenIntrospectionResponseDTO introspect(TokenIntrospectionRequestDTO tokenIntrospectionRequestDTO);
+}
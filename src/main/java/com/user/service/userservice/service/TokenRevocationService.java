@@ -0,0 +1,23 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.util.VerifiedToken;
+
+public interface TokenRevocationService {
+
+    /**
+     * Revoke an access token so it is rejected until it expires
+     *
+     * @param token JWT token
+     * @throws io.jsonwebtoken.JwtException if the token is not valid
+     */
+    void revokeToken(String token);
+
+    /**
+     * Check whether a verified token has been revoked
+     * Most answers come from memory; only possible matches are confirmed against the database.
+     *
+     * @param token verified token
+     * @return true if the token was revoked
+     */
+    boolean isRevoked(VerifiedToken token);
+}
@@ -0,0 +1,35 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.dto.response.UserPageResponseDTO;
+import com.user.service.userservice.dto.response.UserSummaryDTO;
+import com.user.service.userservice.util.PageCursor;
+
+import java.util.List;
+
+public interface UserAdminService {
+
+    /**
+     * List users newest first, one page at a time
+     * Every page costs the same, however deep: it seeks to the cursor instead of skipping rows, and no total
+     * count is taken.
+     *
+     * @param cursor position after which the page starts, null for the first page
+     * @param role only users with this role, null for all
+     * @param locked only users that are (true) or are not (false) currently locked, null for all
+     * @param size requested page size, capped at the configured maximum
+     * @return UserPageResponseDTO with the users and the cursor of the next page
+     */
+    UserPageResponseDTO listUsers(PageCursor cursor, String role, Boolean locked, int size);
+
+    /**
+     * Find users whose username, email or full name contains a term, ignoring case
+     * Exact matches rank first, then prefix matches, then shorter usernames.
+     *
+     * @param query search term of at least three characters, surrounding whitespace ignored
+     * @param limit requested number of results, capped at the configured maximum
+     * @return matching users, best first
+     * @throws InvalidSearchException if the term is shorter than three characters
+     * @throws SearchTimeoutException if the search runs longer than the configured timeout
+     */
+    List<UserSummaryDTO> searchUsers(String query, int limit);
+}
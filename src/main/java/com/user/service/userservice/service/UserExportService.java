@@ -0,0 +1,21 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.util.UserDataFormat;
+
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+public interface UserExportService {
+
+    /**
+     * Write all users updated within a range, ordered by update time and ID
+     * Users are streamed from the database to the writer, so memory use does not grow with the table.
+     *
+     * @param writer output, flushed but not closed
+     * @param format output format
+     * @param updatedFrom inclusive lower bound of the update time, null for no bound
+     * @param updatedTo exclusive upper bound of the update time, null for no bound
+     * @return number of users written
+     */
+    long exportUsers(Writer writer, UserDataFormat format, LocalDateTime updatedFrom, LocalDateTime updatedTo);
+}
@@ -0,0 +1,21 @@
+package com.user.service.userservice.service;
+
+import com.user.service.userservice.dto.response.BulkImportResponseDTO;
+import com.user.service.userservice.util.UserDataFormat;
+
+import java.io.Reader;
+
+public interface UserImportService {
+
+    /**
+     * Create the users of a CSV or NDJSON import body
+     * Rows are validated like registrations and imported independently: an invalid, duplicate or conflicting
+     * row is reported and skipped without affecting the others.
+     *
+     * @param reader import body, read to the end but not closed
+     * @param format format of the body
+     * @return BulkImportResponseDTO with one result per row, in input order
+     * @throws InvalidImportException if the body cannot be read as a whole
+     */
+    BulkImportResponseDTO importUsers(Reader reader, UserDataFormat format);
+}
@@ -1,27 +1,43 @@
 package com.user.service.userservice.service;
 
 import com.user.service.userservice.dto.request.LoginRequestDTO;
+import com.user.service.userservice.dto.request.RefreshTokenRequestDTO;
 import com.user.service.userservice.dto.request.RegisterRequestDTO;
 import com.user.service.userservice.dto.response.LoginResponseDTO;
 import com.user.service.userservice.dto.response.RegisterResponseDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface UserService {
     /**
      * Register a new user with the provided registration details
+     * Only the password hash runs on the password hashing pool. Failures complete the future exceptionally:
+     * UsernameAlreadyExistsException or EmailAlreadyExistsException if username or email already exists,
+     * ServerBusyException if the hashing queue is full.
      *
      * @param registerRequestDTO the registration request containing username, email, password, and fullName
-     * @return RegisterResponseDTO containing the created user details
-     * @throws IllegalArgumentException if username or email already exists
+     * @return future RegisterResponseDTO containing the created user details
      */
-    RegisterResponseDTO registerUser(RegisterRequestDTO registerRequestDTO);
+    CompletableFuture<RegisterResponseDTO> registerUser(RegisterRequestDTO registerRequestDTO);
 
     /**
      * Authenticate user and generate JWT token
+     * Only the password check runs on the password hashing pool. Failures complete the future exceptionally:
+     * UserNotFoundException if user is not found, InvalidCredentialsException if credentials are invalid,
+     * AccountLockedException if the account is locked after too many failed logins, ServerBusyException if
+     * the hashing queue is full.
      *
      * @param loginRequestDTO the login request containing email/username and password
-     * @return LoginResponseDTO containing JWT token and user details
-     * @throws UserNotFoundException if user is not found
-     * @throws InvalidCredentialsException if credentials are invalid
+     * @return future LoginResponseDTO containing JWT token and user details
+     */
+    CompletableFuture<LoginResponseDTO> loginUser(LoginRequestDTO loginRequestDTO);
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token
+     *
+     * @param refreshTokenRequestDTO the request containing the refresh token
+     * @return LoginResponseDTO containing the new tokens and user details
+     * @throws InvalidRefreshTokenException if the refresh token is unknown, expired, revoked or reused
      */
-    LoginResponseDTO loginUser(LoginRequestDTO loginRequestDTO);
+    LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshTokenRequestDTO);
 }
@@ -0,0 +1,326 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.exception.AccountLockedException;
+import com.user.service.userservice.service.LoginAttemptService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Account lockout with failure counters held in memory
+ * Counters live in a {@link ConcurrentHashMap} and are only changed inside its per-bin compute lock, so
+ * concurrent attempts on one account serialize while different accounts proceed in parallel. Each flush
+ * interval, the failures counted since the last flush are added to the users table in one JDBC batch, and the
+ * database applies the lockout threshold to the sum, so failures on different instances add up and a lock
+ * set by one instance is never lifted by another's write. The flush then re-reads the counters of the accounts
+ * it wrote and of the locked ones, which brings the accounts under attack up to the fleet's count and locks
+ * within a flush interval; the other tracked accounts are re-read once per resync interval. An account seen
+ * for the first time is seeded from the columns of its loaded row, so lockouts also survive restarts.
+ */
+@Service
+@Slf4j
+public class LoginAttemptServiceImpl implements LoginAttemptService {
+
+    /**
+     * Add failures and lock once the sum reaches the limit; a later lock end already in place is kept
+     * A new lock also bumps updated_at, which tells the user caches of all instances to drop the row.
+     */
+    private static final String FLUSH_SQL = """
+            UPDATE users SET
+                failed_login_attempts = CASE WHEN ? OR failed_login_attempts + ? >= ? THEN 0
+                                             ELSE failed_login_attempts + ? END,
+                locked_until = CASE WHEN (? OR failed_login_attempts + ? >= ?)
+                                         AND (locked_until IS NULL OR locked_until < ?) THEN ?
+                                    ELSE locked_until END,
+                updated_at = CASE WHEN (? OR failed_login_attempts + ? >= ?)
+                                       AND (locked_until IS NULL OR locked_until < ?) THEN ?
+                                  ELSE updated_at END
+            WHERE id = ?""";
+
+    /**
+     * Clear the counter after a successful login, but not a lock another instance set in the meantime
+     */
+    private static final String RESET_SQL = "UPDATE users SET failed_login_attempts = 0, "
+            + "locked_until = CASE WHEN locked_until > ? THEN locked_until ELSE NULL END WHERE id = ?";
+
+    private static final String SEED_SQL = "SELECT id, failed_login_attempts, locked_until FROM users WHERE id IN (%s)";
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAttempts;
+    private final Duration lockDuration;
+    private final Duration resyncInterval;
+    private final Clock clock;
+    private final ConcurrentMap<Long, Attempts> attempts = new ConcurrentHashMap<>();
+    private LocalDateTime nextResync = LocalDateTime.MIN;
+
+    @Autowired
+    public LoginAttemptServiceImpl(JdbcTemplate jdbcTemplate,
+                                   @Value("${login.lockout.max-attempts:5}") int maxAttempts,
+                                   @Value("${login.lockout.lock-duration:15m}") Duration lockDuration,
+                                   @Value("${login.lockout.resync-interval:1m}") Duration resyncInterval) {
+        this(jdbcTemplate, maxAttempts, lockDuration, resyncInterval, Clock.systemDefaultZone());
+    }
+
+    LoginAttemptServiceImpl(JdbcTemplate jdbcTemplate, int maxAttempts, Duration lockDuration,
+                            Duration resyncInterval, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAttempts = maxAttempts;
+        this.lockDuration = lockDuration;
+        this.resyncInterval = resyncInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public void checkNotLocked(User user) {
+        Attempts current = attempts.get(user.getId());
+        LocalDateTime lockedUntil = current != null ? current.lockedUntil : user.getLockedUntil();
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (lockedUntil != null && lockedUntil.isAfter(now)) {
+            log.warn("Login rejected: account of user {} is locked until {}", user.getUsername(), lockedUntil);
+            long seconds = Duration.between(now, lockedUntil).toSeconds() + 1;
+            throw new AccountLockedException("Account is temporarily locked due to too many failed login attempts", seconds);
+        }
+    }
+
+    @Override
+    public void recordFailure(User user) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Attempts updated = attempts.compute(user.getId(), (id, current) -> {
+            Attempts entry = current != null ? current : Attempts.of(user);
+            if (entry.lockedUntil != null && !entry.lockedUntil.isAfter(now)) {
+                entry.lockedUntil = null;
+                entry.failures = 0;
+            }
+            entry.failures++;
+            entry.pendingFailures++;
+            if (entry.failures >= maxAttempts) {
+                entry.lockedUntil = now.plus(lockDuration);
+                entry.failures = 0;
+                entry.pendingLock = true;
+            }
+            entry.lastChange = now;
+            return entry;
+        });
+        if (updated.lockedUntil != null) {
+            log.warn("Account of user {} locked until {} after {} failed logins",
+                    user.getUsername(), updated.lockedUntil, maxAttempts);
+        }
+    }
+
+    @Override
+    public void recordSuccess(User user) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        attempts.compute(user.getId(), (id, current) -> {
+            Attempts entry = current != null ? current : Attempts.of(user);
+            if (entry.failures == 0 && entry.lockedUntil == null && !entry.isDirty()) {
+                return current;
+            }
+            entry.failures = 0;
+            entry.lockedUntil = null;
+            entry.pendingFailures = 0;
+            entry.pendingLock = false;
+            entry.pendingReset = true;
+            entry.lastChange = now;
+            return entry;
+        });
+    }
+
+    /**
+     * Add the failures counted since the last flush to the database in one batch, re-read the counters of the
+     * written and locked accounts, or of all tracked accounts once per resync interval, and forget accounts idle
+     * for a lock duration
+     */
+    @Scheduled(fixedDelayString = "${login.lockout.flush-interval:5000}")
+    public synchronized void flush() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime idleBefore = now.minus(lockDuration);
+        List<Pending> pending = new ArrayList<>();
+        List<Long> reread = new ArrayList<>();
+        for (Long userId : attempts.keySet()) {
+            attempts.computeIfPresent(userId, (id, entry) -> {
+                if (entry.isDirty()) {
+                    pending.add(entry.drain(id, now.plus(lockDuration)));
+                    reread.add(id);
+                    return entry;
+                }
+                boolean locked = entry.lockedUntil != null && entry.lockedUntil.isAfter(now);
+                if (locked) {
+                    reread.add(id);
+                }
+                return !locked && entry.lastChange.isBefore(idleBefore) ? null : entry;
+            });
+        }
+        if (!pending.isEmpty() && !write(pending, now)) {
+            return;
+        }
+        if (!now.isBefore(nextResync)) {
+            nextResync = now.plus(resyncInterval);
+            seed(new ArrayList<>(attempts.keySet()));
+        } else {
+            seed(reread);
+        }
+    }
+
+    /**
+     * Write drained changes, handing them back to their entries if the database cannot be reached
+     *
+     * @return true if the changes were written
+     */
+    private boolean write(List<Pending> pending, LocalDateTime now) {
+        List<Object[]> resets = new ArrayList<>();
+        List<Object[]> failures = new ArrayList<>();
+        for (Pending change : pending) {
+            if (change.reset()) {
+                resets.add(new Object[]{Timestamp.valueOf(now), change.userId()});
+            }
+            if (change.failures() > 0 || change.locked()) {
+                Timestamp lockEnd = Timestamp.valueOf(change.lockedUntil());
+                failures.add(new Object[]{
+                    change.locked(), change.failures(), maxAttempts, change.failures(),
+                    change.locked(), change.failures(), maxAttempts, lockEnd, lockEnd,
+                    change.locked(), change.failures(), maxAttempts, lockEnd, Timestamp.valueOf(now),
+                    change.userId()
+                });
+            }
+        }
+        try {
+            if (!resets.isEmpty()) {
+                jdbcTemplate.batchUpdate(RESET_SQL, resets);
+            }
+            if (!failures.isEmpty()) {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, failures);
+            }
+            log.debug("Flushed login attempt counters of {} users", pending.size());
+            return true;
+        } catch (DataAccessException e) {
+            pending.forEach(change -> attempts.computeIfPresent(change.userId(), (id, entry) -> {
+                entry.restore(change);
+                return entry;
+            }));
+            log.warn("Failed to flush login attempt counters of {} users, will retry: {}", pending.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replace the counters of the given accounts with the database's, keeping changes made since the flush
+     */
+    private void seed(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += SEED_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + SEED_BATCH_SIZE, ids.size()));
+            String sql = SEED_SQL.formatted(String.join(",", Collections.nCopies(batch.size(), "?")));
+            try {
+                jdbcTemplate.query(sql, rs -> {
+                    Timestamp lockedUntil = rs.getTimestamp("locked_until");
+                    int failedAttempts = rs.getInt("failed_login_attempts");
+                    attempts.computeIfPresent(rs.getLong("id"), (id, entry) -> {
+                        entry.seed(failedAttempts, lockedUntil != null ? lockedUntil.toLocalDateTime() : null);
+                        return entry;
+                    });
+                }, batch.toArray());
+            } catch (DataAccessException e) {
+                log.warn("Failed to re-read login attempt counters of {} users: {}", batch.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Get the number of accounts with counters in memory
+     *
+     * @return tracked account count
+     */
+    public int size() {
+        return attempts.size();
+    }
+
+    /**
+     * Changes of one account drained for a flush
+     *
+     * @param userId user ID
+     * @param reset whether the counter is cleared before the failures are added
+     * @param failures failures to add
+     * @param locked whether this instance locked the account
+     * @param lockedUntil lock end to set if the account is, or becomes, locked
+     */
+    private record Pending(Long userId, boolean reset, int failures, boolean locked, LocalDateTime lockedUntil) {
+    }
+
+    /**
+     * Counter state of one account, only changed inside the map's compute methods
+     * The lock end is volatile so lockout checks can read it without taking the lock. The pending fields hold
+     * the changes not yet written: failures to add, a local lock, and a reset by a successful login.
+     */
+    private static final class Attempts {
+
+        private int failures;
+        private volatile LocalDateTime lockedUntil;
+        private LocalDateTime lastChange;
+        private int pendingFailures;
+        private boolean pendingLock;
+        private boolean pendingReset;
+
+        private static Attempts of(User user) {
+            Attempts entry = new Attempts();
+            entry.failures = user.getFailedLoginAttempts();
+            entry.lockedUntil = user.getLockedUntil();
+            return entry;
+        }
+
+        private boolean isDirty() {
+            return pendingFailures > 0 || pendingLock || pendingReset;
+        }
+
+        private Pending drain(Long userId, LocalDateTime defaultLockEnd) {
+            Pending change = new Pending(userId, pendingReset, pendingFailures, pendingLock,
+                    pendingLock ? lockedUntil : defaultLockEnd);
+            pendingFailures = 0;
+            pendingLock = false;
+            pendingReset = false;
+            return change;
+        }
+
+        private void restore(Pending change) {
+            if (pendingReset) {
+                // a later successful login supersedes the failed changes
+                return;
+            }
+            pendingReset = change.reset();
+            pendingFailures += change.failures();
+            pendingLock |= change.locked();
+        }
+
+        private void seed(int storedFailures, LocalDateTime storedLockedUntil) {
+            if (pendingReset) {
+                return;
+            }
+            failures = storedFailures + pendingFailures;
+            if (!pendingLock || (storedLockedUntil != null && storedLockedUntil.isAfter(lockedUntil))) {
+                lockedUntil = storedLockedUntil;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.entity.RefreshToken;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.exception.InvalidRefreshTokenException;
+import com.user.service.userservice.repository.RefreshTokenRepository;
+import com.user.service.userservice.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh.expiration:2592000000}")
+    private Long expiration;
+
+    /**
+     * Time after login beyond which a family is no longer rotated, however often it was refreshed
+     */
+    @Value("${jwt.refresh.max-family-lifetime:7776000000}")
+    private Long maxFamilyLifetime;
+
+    @Override
+    @Transactional
+    public String issueToken(User user) {
+        return createToken(user, UUID.randomUUID(), LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotateToken(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (current == null) {
+            log.warn("Refresh failed: unknown refresh token");
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null || !now.isBefore(current.getExpiresAt())) {
+            log.warn("Refresh failed: refresh token of user {} is expired or revoked", current.getUser().getUsername());
+            throw new InvalidRefreshTokenException("Refresh token is expired or revoked");
+        }
+        if (!now.isBefore(current.getFamilyIssuedAt().plusNanos(maxFamilyLifetime * 1_000_000L))) {
+            log.warn("Refresh failed: refresh token family {} of user {} issued at {} has reached its maximum lifetime",
+                    current.getFamilyId(), current.getUser().getUsername(), current.getFamilyIssuedAt());
+            throw new InvalidRefreshTokenException("Refresh token family has reached its maximum lifetime");
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens of family {}",
+                    current.getUser().getUsername(), revoked, current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        return new Rotation(current.getUser(),
+                createToken(current.getUser(), current.getFamilyId(), current.getFamilyIssuedAt()));
+    }
+
+    @Override
+    public Long getExpirationTime() {
+        return expiration;
+    }
+
+    /**
+     * Delete expired refresh tokens
+     * Used tokens are kept until they expire so that replaying them is still detected as reuse.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval:3600000}",
+            initialDelayString = "${jwt.refresh.cleanup-interval:3600000}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String createToken(User user, UUID familyId, LocalDateTime familyIssuedAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .familyIssuedAt(familyIssuedAt)
+                .expiresAt(LocalDateTime.now().plusNanos(expiration * 1_000_000L))
+                .build());
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.dto.request.TokenIntrospectionRequestDTO;
+import com.user.service.userservice.dto.response.TokenIntrospectionResponseDTO;
+import com.user.service.userservice.dto.response.TokenIntrospectionResponseDTO.Result;
+import com.user.service.userservice.service.TokenIntrospectionService;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.util.VerifiedToken;
+import com.user.service.userservice.util.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Batch token introspection
+ * The batch is split into contiguous chunks, one per worker; the request thread verifies the first chunk
+ * itself while the pool verifies the rest, and every result is written to its token's slot so request order
+ * is kept without sorting.
+ */
+@Service
+@Slf4j
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+
+    // below this many tokens per chunk the hand-off costs more than the verification it parallelizes
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public TokenIntrospectionServiceImpl(VerifiedTokenCache verifiedTokenCache,
+                                         TokenRevocationService tokenRevocationService,
+                                         @Value("${jwt.introspection.parallelism:0}") int parallelism) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("token-introspection-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(this.parallelism, threadFactory);
+        log.info("Token introspection initialized with parallelism {}", this.parallelism);
+    }
+
+    @Override
+    public TokenIntrospectionResponseDTO introspect(TokenIntrospectionRequestDTO tokenIntrospectionRequestDTO) {
+        List<String> tokens = tokenIntrospectionRequestDTO.getTokens();
+        Result[] results = new Result[tokens.size()];
+
+        int chunks = Math.max(1, Math.min(parallelism, tokens.size() / MIN_CHUNK_SIZE));
+        int chunkSize = (tokens.size() + chunks - 1) / chunks;
+        List<CompletableFuture<Void>> pending = new ArrayList<>(chunks - 1);
+        for (int start = chunkSize; start < tokens.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, tokens.size());
+            pending.add(CompletableFuture.runAsync(() -> introspect(tokens, results, from, to), executor));
+        }
+        introspect(tokens, results, 0, Math.min(chunkSize, tokens.size()));
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+
+        log.debug("Introspected {} tokens in {} chunks", tokens.size(), chunks);
+        return TokenIntrospectionResponseDTO.of(Arrays.asList(results));
+    }
+
+    private void introspect(List<String> tokens, Result[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private Result introspect(String token) {
+        try {
+            VerifiedToken verifiedToken = verifiedTokenCache.verify(token);
+            if (tokenRevocationService.isRevoked(verifiedToken)) {
+                return Result.inactive();
+            }
+            return Result.active(
+                verifiedToken.getSubject(),
+                verifiedToken.getUserId(),
+                verifiedToken.getExpiresAt() != null ? verifiedToken.getExpiresAt().getEpochSecond() : null
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return Result.inactive();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,137 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.entity.RevokedToken;
+import com.user.service.userservice.repository.RevokedTokenRepository;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.util.BloomFilter;
+import com.user.service.userservice.util.VerifiedToken;
+import com.user.service.userservice.util.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Token revocation backed by the revoked_tokens table with an in-memory Bloom filter in front
+ * A filter miss proves a token was never revoked, so only filter hits (revoked tokens and rare false
+ * positives) cost a primary key lookup. Revocations made by other instances are pulled in incrementally;
+ * the filter is rebuilt periodically so expired revocations stop occupying bits.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    // re-read window that covers clock skew and transactions committing after the previous refresh
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    // null until the first load, in which case every check goes to the database
+    private volatile BloomFilter filter;
+    private LocalDateTime lastRefresh;
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                      VerifiedTokenCache verifiedTokenCache,
+                                      @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                                      @Value("${jwt.revocation.false-positive-probability:0.001}") double falsePositiveProbability) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @Override
+    public void revokeToken(String token) {
+        VerifiedToken verifiedToken = verifiedTokenCache.verify(token);
+        String tokenId = verifiedToken.getTokenId();
+        if (tokenId == null || verifiedToken.getExpiresAt() == null) {
+            log.warn("Token of user {} has no jti or exp claim and cannot be revoked", verifiedToken.getSubject());
+            return;
+        }
+
+        // not transactional, so the insert commits on its own and a primary key conflict with a concurrent
+        // revocation of the same token surfaces here instead of marking a surrounding transaction rollback-only
+        try {
+            revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .userId(verifiedToken.getUserId())
+                    .expiresAt(LocalDateTime.ofInstant(verifiedToken.getExpiresAt(), ZoneId.systemDefault()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was revoked concurrently", tokenId);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(tokenId);
+        }
+        log.info("Revoked token {} of user {}", tokenId, verifiedToken.getSubject());
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.getTokenId();
+        if (tokenId == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Add tokens revoked by any instance since the previous refresh to the filter
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:10000}")
+    @Transactional
+    public synchronized void refreshFilter() {
+        BloomFilter current = filter;
+        if (current == null) {
+            rebuildFilter();
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedSince(lastRefresh.minus(REFRESH_OVERLAP));
+        tokenIds.forEach(current::put);
+        lastRefresh = startedAt;
+    }
+
+    /**
+     * Delete expired revocations and rebuild the filter from the remaining ones
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:3600000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:3600000}")
+    @Transactional
+    public synchronized void rebuildFilter() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(startedAt);
+        List<String> tokenIds = revokedTokenRepository.findActiveTokenIds(startedAt);
+
+        long capacity = expectedInsertions;
+        if (tokenIds.size() > expectedInsertions) {
+            capacity = tokenIds.size() * 2L;
+            log.warn("{} active revocations exceed jwt.revocation.expected-insertions={}, sizing filter for {}",
+                    tokenIds.size(), expectedInsertions, capacity);
+        }
+        BloomFilter rebuilt = BloomFilter.create(capacity, falsePositiveProbability);
+        tokenIds.forEach(rebuilt::put);
+        filter = rebuilt;
+
+        // revocations committed while the filter was being built
+        revokedTokenRepository.findTokenIdsRevokedSince(startedAt.minus(REFRESH_OVERLAP)).forEach(rebuilt::put);
+        lastRefresh = startedAt;
+        log.info("Revocation filter rebuilt with {} tokens ({} bits, {} hashes), {} expired revocations deleted",
+                tokenIds.size(), rebuilt.bitCount(), rebuilt.hashFunctions(), deleted);
+    }
+}
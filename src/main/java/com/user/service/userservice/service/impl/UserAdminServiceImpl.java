@@ -0,0 +1,113 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.dto.response.UserPageResponseDTO;
+import com.user.service.userservice.dto.response.UserSummaryDTO;
+import com.user.service.userservice.exception.InvalidSearchException;
+import com.user.service.userservice.exception.SearchTimeoutException;
+import com.user.service.userservice.repository.UserListRow;
+import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.repository.UserRoleRow;
+import com.user.service.userservice.service.UserAdminService;
+import com.user.service.userservice.util.PageCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * User administration queries
+ * A page is read with one keyset query for the users plus one query for their roles; the page is fetched with
+ * one extra row to tell whether another page follows, instead of counting. A search is one trigram-indexed
+ * query, capped in results and time, plus the same role query.
+ */
+@Service
+@Slf4j
+public class UserAdminServiceImpl implements UserAdminService {
+
+    /**
+     * Shortest term that contains a trigram; shorter terms could not use the trigram indexes
+     */
+    static final int MIN_SEARCH_LENGTH = 3;
+
+    private final UserRepository userRepository;
+    private final int maxPageSize;
+    private final int maxSearchResults;
+    private final Clock clock;
+
+    @Autowired
+    public UserAdminServiceImpl(UserRepository userRepository,
+                                @Value("${user.list.max-page-size:200}") int maxPageSize,
+                                @Value("${user.search.max-results:100}") int maxSearchResults) {
+        this(userRepository, maxPageSize, maxSearchResults, Clock.systemDefaultZone());
+    }
+
+    UserAdminServiceImpl(UserRepository userRepository, int maxPageSize, int maxSearchResults, Clock clock) {
+        this.userRepository = userRepository;
+        this.maxPageSize = maxPageSize;
+        this.maxSearchResults = maxSearchResults;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageResponseDTO listUsers(PageCursor cursor, String role, Boolean locked, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<UserListRow> rows = userRepository.findPage(cursor, role, locked, LocalDateTime.now(clock), pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<UserListRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<UserSummaryDTO> users = summarize(page);
+
+        String nextCursor = null;
+        if (hasNext) {
+            UserListRow last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.createdAt(), last.id()).encode();
+        }
+        log.debug("Listed {} users after cursor {}", users.size(), cursor);
+        return UserPageResponseDTO.of(users, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserSummaryDTO> searchUsers(String query, int limit) {
+        String term = query.strip().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchException("Search term must have at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        List<UserListRow> rows;
+        try {
+            rows = userRepository.search(term, Math.max(1, Math.min(limit, maxSearchResults)));
+        } catch (QueryTimeoutException e) {
+            throw new SearchTimeoutException("Search for '" + term + "' took too long, use a more specific term", e);
+        }
+        log.debug("Found {} users for search term {}", rows.size(), term);
+        return summarize(rows);
+    }
+
+    /**
+     * Attach the role names of the users, loaded with one query for all of them
+     */
+    private List<UserSummaryDTO> summarize(List<UserListRow> rows) {
+        Map<Long, Set<String>> roles = new HashMap<>();
+        if (!rows.isEmpty()) {
+            for (UserRoleRow row : userRepository.findRoleNames(rows.stream().map(UserListRow::id).toList())) {
+                roles.computeIfAbsent(row.userId(), id -> new TreeSet<>()).add(row.roleName());
+            }
+        }
+        return rows.stream()
+                .map(row -> UserSummaryDTO.of(row.id(), row.username(), row.email(), row.fullName(),
+                        List.copyOf(roles.getOrDefault(row.id(), Set.of())), row.createdAt(), row.lockedUntil()))
+                .toList();
+    }
+}
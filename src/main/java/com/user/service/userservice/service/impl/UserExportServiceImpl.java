@@ -0,0 +1,46 @@
+package com.user.service.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.repository.UserExportRow;
+import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.UserExportService;
+import com.user.service.userservice.util.UserDataFormat;
+import com.user.service.userservice.util.UserExportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * User export
+ * Runs in one read-only transaction, which keeps the PostgreSQL cursor behind
+ * {@link UserRepository#streamForExport} open while each fetched row is written and dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportServiceImpl implements UserExportService {
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(Writer writer, UserDataFormat format, LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+        UserExportWriter exportWriter = new UserExportWriter(writer, format, objectMapper);
+        long count = 0;
+        try (Stream<UserExportRow> rows = userRepository.streamForExport(updatedFrom, updatedTo)) {
+            for (Iterator<UserExportRow> it = rows.iterator(); it.hasNext(); count++) {
+                exportWriter.write(it.next());
+            }
+        }
+        exportWriter.finish();
+        log.info("Exported {} users updated from {} to {} as {}", count, updatedFrom, updatedTo, format);
+        return count;
+    }
+}
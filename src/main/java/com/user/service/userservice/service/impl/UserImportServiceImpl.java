@@ -0,0 +1,246 @@
+package com.user.service.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.dto.request.RegisterRequestDTO;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO.Result;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO.Status;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.mapper.UserMapper;
+import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.UserImportService;
+import com.user.service.userservice.util.UserCache;
+import com.user.service.userservice.util.UserDataFormat;
+import com.user.service.userservice.util.UserImportReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import
+ * Rows are read one at a time and written in chunks. Each chunk is checked against existing users with one
+ * query per column, its passwords are hashed on a dedicated pool with one thread per core, and its users are
+ * inserted in one transaction, which Hibernate sends as JDBC batches with ids from the pooled sequence. Only if
+ * a concurrent registration claims a name between the check and the insert does a chunk fall back to one
+ * transaction per row, so the other rows still go in.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 UserMapper userMapper,
+                                 PasswordEncoder passwordEncoder,
+                                 UserCache userCache,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${user.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${user.import.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-import-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(this.parallelism, threadFactory);
+        log.info("User import initialized with chunk size {} and {} hashing threads", chunkSize, this.parallelism);
+    }
+
+    @Override
+    public BulkImportResponseDTO importUsers(Reader reader, UserDataFormat format) {
+        UserImportReader rows = new UserImportReader(reader, format, objectMapper);
+        List<Result> results = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        for (UserImportReader.Row row = rows.next(); row != null; row = rows.next()) {
+            Result rejected = check(row, usernames, emails);
+            if (rejected != null) {
+                results.add(rejected);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk));
+        }
+        results.sort(Comparator.comparingInt(Result::getLine));
+
+        BulkImportResponseDTO response = BulkImportResponseDTO.of(results);
+        log.info("Imported {} of {} users", response.getCreated(), response.getTotal());
+        return response;
+    }
+
+    /**
+     * Reject a row that is invalid or repeats a username or email of an earlier row
+     *
+     * @return the rejection, or null if the row is accepted and its names are now claimed
+     */
+    private Result check(UserImportReader.Row row, Set<String> usernames, Set<String> emails) {
+        RegisterRequestDTO request = row.request();
+        if (request == null) {
+            return Result.rejected(row.line(), null, Status.INVALID, row.error());
+        }
+        Set<ConstraintViolation<RegisterRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return Result.rejected(row.line(), request.getUsername(), Status.INVALID, message);
+        }
+        String username = lower(request.getUsername());
+        String email = lower(request.getEmail());
+        if (usernames.contains(username)) {
+            return Result.rejected(row.line(), request.getUsername(), Status.DUPLICATE,
+                    "Username '" + request.getUsername() + "' appears earlier in the import");
+        }
+        if (emails.contains(email)) {
+            return Result.rejected(row.line(), request.getUsername(), Status.DUPLICATE,
+                    "Email '" + request.getEmail() + "' appears earlier in the import");
+        }
+        usernames.add(username);
+        emails.add(email);
+        return null;
+    }
+
+    private List<Result> importChunk(List<UserImportReader.Row> chunk) {
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> lower(row.request().getUsername())).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> lower(row.request().getEmail())).toList()));
+
+        List<Result> results = new ArrayList<>(chunk.size());
+        List<UserImportReader.Row> accepted = new ArrayList<>(chunk.size());
+        for (UserImportReader.Row row : chunk) {
+            RegisterRequestDTO request = row.request();
+            if (takenUsernames.contains(lower(request.getUsername()))) {
+                results.add(conflict(row, "Username '" + request.getUsername() + "' already exists"));
+            } else if (takenEmails.contains(lower(request.getEmail()))) {
+                results.add(conflict(row, "Email '" + request.getEmail() + "' already exists"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<User> users = accepted.stream().map(row -> userMapper.toEntity(row.request())).toList();
+        encodePasswords(users);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAllAndFlush(users));
+            for (int i = 0; i < users.size(); i++) {
+                results.add(created(accepted.get(i), users.get(i)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} imported users failed, inserting them one by one: {}",
+                    users.size(), e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < users.size(); i++) {
+                results.add(insertOne(accepted.get(i), users.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private Result insertOne(UserImportReader.Row row, User user) {
+        // the rolled back batch already assigned an id, which would make the user look detached
+        user.setId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(user));
+            return created(row, user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = UserServiceImpl.violatedConstraint(e);
+            RegisterRequestDTO request = row.request();
+            if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+                return conflict(row, "Username '" + request.getUsername() + "' already exists");
+            }
+            if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+                return conflict(row, "Email '" + request.getEmail() + "' already exists");
+            }
+            log.error("Failed to import user {}: {}", request.getUsername(), e.getMessage());
+            return Result.rejected(row.line(), request.getUsername(), Status.FAILED, "Failed to create user");
+        }
+    }
+
+    /**
+     * Replace the raw passwords with hashes, split into one contiguous slice per hashing thread
+     * The calling thread hashes the first slice itself.
+     */
+    private void encodePasswords(List<User> users) {
+        int sliceSize = (users.size() + parallelism - 1) / parallelism;
+        List<CompletableFuture<Void>> pending = new ArrayList<>(parallelism - 1);
+        for (int start = sliceSize; start < users.size(); start += sliceSize) {
+            List<User> slice = users.subList(start, Math.min(start + sliceSize, users.size()));
+            pending.add(CompletableFuture.runAsync(() -> encodePasswords(slice, 0, slice.size()), executor));
+        }
+        encodePasswords(users, 0, Math.min(sliceSize, users.size()));
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void encodePasswords(List<User> users, int from, int to) {
+        for (int i = from; i < to; i++) {
+            User user = users.get(i);
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+        }
+    }
+
+    private Result created(UserImportReader.Row row, User user) {
+        userCache.invalidate(user);
+        return Result.created(row.line(), user.getUsername(), user.getId());
+    }
+
+    private static Result conflict(UserImportReader.Row row, String message) {
+        return Result.rejected(row.line(), row.request().getUsername(), Status.CONFLICT, message);
+    }
+
+    private static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
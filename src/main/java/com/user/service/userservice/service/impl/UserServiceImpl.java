@@ -1,24 +1,39 @@
 package com.user.service.userservice.service.impl;
 
 import com.user.service.userservice.dto.request.LoginRequestDTO;
+import com.user.service.userservice.dto.request.RefreshTokenRequestDTO;
 import com.user.service.userservice.dto.request.RegisterRequestDTO;
 import com.user.service.userservice.dto.response.LoginResponseDTO;
 import com.user.service.userservice.dto.response.RegisterResponseDTO;
+import com.user.service.userservice.entity.Role;
 import com.user.service.userservice.entity.User;
+import com.user.service.userservice.exception.AccountLockedException;
 import com.user.service.userservice.exception.EmailAlreadyExistsException;
 import com.user.service.userservice.exception.InvalidCredentialsException;
+import com.user.service.userservice.exception.ServerBusyException;
 import com.user.service.userservice.exception.UserNotFoundException;
 import com.user.service.userservice.exception.UserRegistrationException;
 import com.user.service.userservice.exception.UsernameAlreadyExistsException;
 import com.user.service.userservice.mapper.UserMapper;
 import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.LoginAttemptService;
+import com.user.service.userservice.service.RefreshTokenService;
 import com.user.service.userservice.service.UserService;
 import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.util.PasswordHashingExecutor;
+import com.user.service.userservice.util.UserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -28,70 +43,201 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptService loginAttemptService;
+    private final UserCache userCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Override
-    public RegisterResponseDTO registerUser(RegisterRequestDTO registerRequestDTO) {
+    public CompletableFuture<RegisterResponseDTO> registerUser(RegisterRequestDTO registerRequestDTO) {
         log.info("Attempting to register user with username: {}", registerRequestDTO.getUsername());
         try {
-            if (userRepository.findByUsername(registerRequestDTO.getUsername()) != null) {
-                log.warn("Registration failed: Username '{}' already exists", registerRequestDTO.getUsername());
-                throw new UsernameAlreadyExistsException(registerRequestDTO.getUsername());
-            }
-            if (userRepository.findByEmail(registerRequestDTO.getEmail()) != null) {
-                log.warn("Registration failed: Email '{}' already exists", registerRequestDTO.getEmail());
-                throw new EmailAlreadyExistsException(registerRequestDTO.getEmail());
-            }
             User user = userMapper.toEntity(registerRequestDTO);
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-            User savedUser = userRepository.save(user);
-            log.info("User registered successfully with ID: {}", savedUser.getId());
-            return RegisterResponseDTO.of(
-                savedUser.getId(),
-                savedUser.getUsername(),
-                savedUser.getEmail(),
-                savedUser.getFullName(),
-                savedUser.getCreatedAt()
-            );
-        } catch (UsernameAlreadyExistsException | EmailAlreadyExistsException e) {
-            throw e;
+            String rawPassword = user.getPassword();
+            return passwordHashingExecutor.submit(() -> passwordEncoder.encode(rawPassword))
+                    .thenApply(encodedPassword -> {
+                        user.setPassword(encodedPassword);
+                        return saveRegisteredUser(registerRequestDTO, user);
+                    })
+                    .exceptionally(e -> {
+                        throw registrationFailure(e);
+                    });
         } catch (Exception e) {
-            log.error("Unexpected error during user registration: {}", e.getMessage(), e);
-            throw new UserRegistrationException("Failed to register user", e);
+            return CompletableFuture.failedFuture(registrationFailure(e));
+        }
+    }
+
+    private RegisterResponseDTO saveRegisteredUser(RegisterRequestDTO registerRequestDTO, User user) {
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(registerRequestDTO, e);
+        }
+        userCache.invalidate(savedUser);
+        log.info("User registered successfully with ID: {}", savedUser.getId());
+        return RegisterResponseDTO.of(
+            savedUser.getId(),
+            savedUser.getUsername(),
+            savedUser.getEmail(),
+            savedUser.getFullName(),
+            savedUser.getCreatedAt()
+        );
+    }
+
+    private RuntimeException registrationFailure(Throwable failure) {
+        Throwable e = unwrap(failure);
+        if (e instanceof UsernameAlreadyExistsException || e instanceof EmailAlreadyExistsException
+                || e instanceof ServerBusyException) {
+            return (RuntimeException) e;
         }
+        log.error("Unexpected error during user registration: {}", e.getMessage(), e);
+        return new UserRegistrationException("Failed to register user", e);
+    }
+
+    /**
+     * Translate a rejected insert into the exception for the value that is already taken
+     * Uniqueness is enforced by the database alone, so a registration is a single INSERT and two concurrent
+     * registrations of the same name cannot both pass a check before inserting.
+     *
+     * @param registerRequestDTO the rejected registration
+     * @param e the violation reported by the database
+     * @return the matching already-exists exception, or the violation itself if another constraint failed
+     */
+    private RuntimeException duplicateOf(RegisterRequestDTO registerRequestDTO, DataIntegrityViolationException e) {
+        String constraint = violatedConstraint(e);
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            log.warn("Registration failed: Username '{}' already exists", registerRequestDTO.getUsername());
+            return new UsernameAlreadyExistsException(registerRequestDTO.getUsername());
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            log.warn("Registration failed: Email '{}' already exists", registerRequestDTO.getEmail());
+            return new EmailAlreadyExistsException(registerRequestDTO.getEmail());
+        }
+        return e;
+    }
+
+    static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null ? message.toLowerCase(Locale.ROOT) : "";
     }
 
     @Override
-    public LoginResponseDTO loginUser(LoginRequestDTO loginRequestDTO) {
+    public CompletableFuture<LoginResponseDTO> loginUser(LoginRequestDTO loginRequestDTO) {
         log.info("Attempting to login user with identifier: {}", loginRequestDTO.getEmailOrUsername());
         try {
-            User user = userRepository.findByEmailOrUsername(loginRequestDTO.getEmailOrUsername());
+            User user = userCache.findForLogin(loginRequestDTO.getEmailOrUsername());
             if (user == null) {
                 log.warn("Login failed: User not found with identifier: {}", loginRequestDTO.getEmailOrUsername());
                 throw new UserNotFoundException("User not found with the provided credentials");
             }
 
-            if (!passwordEncoder.matches(loginRequestDTO.getPassword(), user.getPassword())) {
-                log.warn("Login failed: Invalid password for user: {}", user.getUsername());
-                throw new InvalidCredentialsException("Invalid credentials provided");
-            }
+            loginAttemptService.checkNotLocked(user);
+            String rawPassword = loginRequestDTO.getPassword();
+            return passwordHashingExecutor.submit(() -> passwordEncoder.matches(rawPassword, user.getPassword()))
+                    .thenApply(matches -> completeLogin(user, rawPassword, matches))
+                    .exceptionally(e -> {
+                        throw loginFailure(e);
+                    });
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(loginFailure(e));
+        }
+    }
 
-            String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getEmail());
-            log.info("User logged in successfully: {}", user.getUsername());
+    private LoginResponseDTO completeLogin(User user, String rawPassword, boolean passwordMatches) {
+        if (!passwordMatches) {
+            log.warn("Login failed: Invalid password for user: {}", user.getUsername());
+            loginAttemptService.recordFailure(user);
+            throw new InvalidCredentialsException("Invalid credentials provided");
+        }
+        loginAttemptService.recordSuccess(user);
+        rehashIfNeeded(user, rawPassword);
 
-            return LoginResponseDTO.of(
-                token,
-                jwtUtil.getExpirationTime(),
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getFullName()
-            );
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getEmail(), roleNames(user));
+        // the login user is detached, the refresh token row only needs a reference for its foreign key
+        String refreshToken = refreshTokenService.issueToken(userRepository.getReferenceById(user.getId()));
+        log.info("User logged in successfully: {}", user.getUsername());
 
-        } catch (UserNotFoundException | InvalidCredentialsException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error during user login: {}", e.getMessage(), e);
-            throw new InvalidCredentialsException("Login failed due to an unexpected error", e);
+        return LoginResponseDTO.of(
+            token,
+            jwtUtil.getExpirationTime(),
+            refreshToken,
+            refreshTokenService.getExpirationTime(),
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFullName()
+        );
+    }
+
+    private RuntimeException loginFailure(Throwable failure) {
+        Throwable e = unwrap(failure);
+        if (e instanceof UserNotFoundException || e instanceof InvalidCredentialsException
+                || e instanceof AccountLockedException || e instanceof ServerBusyException) {
+            return (RuntimeException) e;
         }
+        log.error("Unexpected error during user login: {}", e.getMessage(), e);
+        return new InvalidCredentialsException("Login failed due to an unexpected error", e);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    @Override
+    public LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotateToken(refreshTokenRequestDTO.getRefreshToken());
+        User user = rotation.user();
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getEmail(), roleNames(user));
+        log.info("Access token refreshed for user: {}", user.getUsername());
+
+        return LoginResponseDTO.of(
+            token,
+            jwtUtil.getExpirationTime(),
+            rotation.refreshToken(),
+            refreshTokenService.getExpirationTime(),
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFullName()
+        );
+    }
+
+    /**
+     * Re-encode a verified password whose stored hash no longer matches the encoder's settings
+     * The new hash is computed on the hashing pool without delaying the login response. Failures, including a
+     * full hashing queue, are logged and ignored; the old hash stays valid and is retried at the next login.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        String currentPassword = user.getPassword();
+        try {
+            passwordHashingExecutor.submit(() -> passwordEncoder.encode(rawPassword))
+                    .thenAccept(newPassword -> {
+                        if (userRepository.updatePassword(user.getId(), currentPassword, newPassword) == 1) {
+                            user.setPassword(newPassword);
+                            userCache.invalidate(user);
+                            log.info("Password hash of user {} re-encoded with current settings", user.getUsername());
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Failed to re-encode password hash of user {}: {}", user.getUsername(),
+                                unwrap(e).getMessage());
+                        return null;
+                    });
+        } catch (ServerBusyException e) {
+            log.warn("Failed to re-encode password hash of user {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+    private static List<String> roleNames(User user) {
+        return user.getRoles().stream().map(Role::getName).sorted().toList();
     }
 }
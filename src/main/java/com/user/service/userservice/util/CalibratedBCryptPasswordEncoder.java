@@ -0,0 +1,111 @@
+package com.user.service.userservice.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt encoder whose strength is chosen for the hardware it runs on
+ * {@link #calibrate} times hashes at a low probe strength and extrapolates, since every extra strength
+ * step doubles the work. {@link #upgradeEncoding} reports only hashes weaker than the encoder's strength.
+ * Each node calibrates on its own, so a node that calibrated lower never re-hashes a stronger stored hash,
+ * and logins that alternate between nodes do not rewrite the hash on every login.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // cheap enough to time a few hashes at startup, expensive enough to dwarf timer resolution
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 5;
+    private static final String PROBE_PASSWORD = "calibration-password";
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Create an encoder with the highest strength whose hash time stays within the target on this node
+     *
+     * @param targetLatency time one hash may take
+     * @param minStrength lowest acceptable strength, used even if it exceeds the target
+     * @param maxStrength highest strength to consider
+     * @return calibrated encoder
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode(PROBE_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(PROBE_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        int strength = strengthFor(fastest, PROBE_STRENGTH, targetLatency, minStrength, maxStrength);
+        log.info("BCrypt calibrated to strength {} (~{} ms per hash, target {} ms)", strength,
+                (fastest << (strength - PROBE_STRENGTH)) / 1_000_000, targetLatency.toMillis());
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Pick the strength for a target latency from one measured hash time
+     *
+     * @param probeNanos time of one hash at the probe strength
+     * @param probeStrength strength the time was measured at
+     * @param targetLatency time one hash may take
+     * @param minStrength lowest acceptable strength
+     * @param maxStrength highest strength to consider
+     * @return strength between minStrength and maxStrength
+     */
+    static int strengthFor(long probeNanos, int probeStrength, Duration targetLatency, int minStrength, int maxStrength) {
+        long target = targetLatency.toNanos();
+        int strength = probeStrength;
+        long estimate = Math.max(1, probeNanos);
+        while (strength < maxStrength && estimate * 2 <= target) {
+            estimate *= 2;
+            strength++;
+        }
+        while (strength > minStrength && estimate > target) {
+            estimate /= 2;
+            strength--;
+        }
+        return Math.max(minStrength, Math.min(maxStrength, strength));
+    }
+
+    /**
+     * Get the strength new hashes are created with
+     *
+     * @return log2 of the number of rounds
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int encodedStrength = strengthOf(encodedPassword);
+        return encodedStrength > 0 && encodedStrength < strength;
+    }
+
+    /**
+     * Read the strength of a BCrypt hash such as {@code $2a$10$...}
+     *
+     * @param encodedPassword stored hash
+     * @return strength, or -1 if the value is not a BCrypt hash
+     */
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+}
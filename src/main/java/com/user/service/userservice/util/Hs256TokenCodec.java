@@ -0,0 +1,682 @@
+package com.user.service.userservice.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Specialized HS256 encoder and decoder for the fixed claim shape issued by {@link JwtUtil}
+ * Skips the general-purpose jjwt builder, claims map and Jackson tree: each thread reuses its own
+ * {@link Mac} instances and byte buffers, Base64url is written straight into those buffers and the
+ * payload is read with a flat, single-pass reader.
+ * Tokens are standard JWS and interoperate with the jjwt path in both directions. {@link #decode}
+ * returns null for anything outside the supported shape, so callers fall back to jjwt.
+ */
+final class Hs256TokenCodec {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final byte[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final int[] BASE64_URL_VALUES = new int[128];
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, -1);
+        for (int i = 0; i < BASE64_URL.length; i++) {
+            BASE64_URL_VALUES[BASE64_URL[i]] = i;
+        }
+    }
+
+    private final JwtKeyRing keyRing;
+    private final Map<JwtKey, byte[]> encodedHeaders = new IdentityHashMap<>();
+    private final ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
+
+    Hs256TokenCodec(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        keyRing.getKeys().stream().filter(Hs256TokenCodec::supports).forEach(this::addHeader);
+        if (supports(keyRing.getLegacyKey())) {
+            addHeader(keyRing.getLegacyKey());
+        }
+    }
+
+    /**
+     * Check whether a key can sign and verify on the fast path
+     *
+     * @param key JWT key
+     * @return true for HS256 keys of at least 256 bits; longer secrets that jjwt treats as HS384 or HS512 are not
+     *         signed or verified as HS256 here
+     */
+    static boolean supports(JwtKey key) {
+        return key != null && "HS256".equals(key.getAlgorithm())
+                && key.getSigningKey() instanceof SecretKey secretKey
+                && HMAC_SHA256.equalsIgnoreCase(secretKey.getAlgorithm())
+                && secretKey.getEncoded() != null && secretKey.getEncoded().length >= 32;
+    }
+
+    /**
+     * Issue a token for the fixed claim shape
+     *
+     * @param key HMAC signing key
+     * @param format claim layout
+     * @param tokenId jti claim
+     * @param userId user ID
+     * @param username username, also written as subject
+     * @param email user email, omitted if null in the compact layout
+     * @param roles roles claim, omitted if null
+     * @param issuedAtSeconds iat in epoch seconds
+     * @param expiresAtSeconds exp in epoch seconds
+     * @return compact JWS
+     */
+    String encode(JwtKey key, TokenFormat format, String tokenId, Long userId, String username, String email,
+                  String roles, long issuedAtSeconds, long expiresAtSeconds) {
+        Workspace ws = workspace.get();
+        ByteBuffer json = ws.json.reset();
+        json.ascii("{\"sub\":").string(username);
+        if (userId != null || format == TokenFormat.STANDARD) {
+            json.ascii(",\"").ascii(format.getUserIdClaim()).ascii("\":");
+            if (userId == null) {
+                json.ascii("null");
+            } else {
+                json.decimal(userId);
+            }
+        }
+        if (format.getUsernameClaim() != null) {
+            json.ascii(",\"").ascii(format.getUsernameClaim()).ascii("\":").string(username);
+        }
+        if (email != null || format == TokenFormat.STANDARD) {
+            json.ascii(",\"").ascii(format.getEmailClaim()).ascii("\":").string(email);
+        }
+        if (roles != null) {
+            json.ascii(",\"").ascii(format.getRolesClaim()).ascii("\":").string(roles);
+        }
+        json.ascii(",\"jti\":").string(tokenId);
+        json.ascii(",\"iat\":").decimal(issuedAtSeconds);
+        json.ascii(",\"exp\":").decimal(expiresAtSeconds);
+        json.put('}');
+
+        byte[] header = encodedHeaders.get(key);
+        ByteBuffer token = ws.token.reset();
+        token.bytes(header, 0, header.length);
+        token.put('.');
+        token.base64Url(json.data, 0, json.length);
+        int signingInputLength = token.length;
+
+        Mac mac = ws.mac(key);
+        mac.update(token.data, 0, signingInputLength);
+        byte[] signature = mac.doFinal();
+        token.put('.');
+        token.base64Url(signature, 0, signature.length);
+        return new String(token.data, 0, token.length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verify a token on the fast path
+     *
+     * @param token compact JWS
+     * @param now current time
+     * @return verified token, or null if the token is outside the supported shape
+     * @throws io.jsonwebtoken.JwtException if the token is in the supported shape but invalid
+     */
+    VerifiedToken decode(String token, Instant now) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+        Workspace ws = workspace.get();
+
+        // header: only {"alg":"HS256"} with optional kid and typ is handled here
+        ByteBuffer decoded = ws.json.reset();
+        if (!decoded.base64UrlDecode(token, 0, firstDot)) {
+            throw new MalformedJwtException("Malformed JWT header encoding");
+        }
+        FlatJsonReader header = ws.reader.reset(decoded.data, decoded.length);
+        String algorithm = null;
+        String keyId = null;
+        if (!header.beginObject()) {
+            return null;
+        }
+        while (header.hasNextField()) {
+            header.fieldName();
+            if (header.isField("alg")) {
+                algorithm = header.stringValue();
+            } else if (header.isField("kid")) {
+                keyId = header.stringValue();
+            } else if (header.isField("typ")) {
+                header.skipScalar();
+            } else {
+                return null;
+            }
+            if (header.failed()) {
+                return null;
+            }
+        }
+        if (!"HS256".equals(algorithm) || !header.endObject()) {
+            return null;
+        }
+        JwtKey key = keyRing.verificationKey(keyId, now);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown or retired JWT key id: " + keyId);
+        }
+        if (!supports(key)) {
+            return null;
+        }
+
+        // signature over the ASCII signing input, compared in constant time
+        ByteBuffer signingInput = ws.token.reset();
+        for (int i = 0; i < secondDot; i++) {
+            signingInput.put(token.charAt(i));
+        }
+        Mac mac = ws.mac(key);
+        mac.update(signingInput.data, 0, secondDot);
+        byte[] expected = mac.doFinal();
+        ByteBuffer signature = ws.signature.reset();
+        if (!signature.base64UrlDecode(token, secondDot + 1, token.length())) {
+            throw new MalformedJwtException("Malformed JWT signature encoding");
+        }
+        if (!constantTimeEquals(expected, signature.data, signature.length)) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        // payload
+        ByteBuffer payload = ws.json.reset();
+        if (!payload.base64UrlDecode(token, firstDot + 1, secondDot)) {
+            throw new MalformedJwtException("Malformed JWT payload encoding");
+        }
+        FlatJsonReader claims = ws.reader.reset(payload.data, payload.length);
+        VerifiedToken.VerifiedTokenBuilder builder = VerifiedToken.builder();
+        long expiresAt = Long.MIN_VALUE;
+        if (!claims.beginObject()) {
+            return null;
+        }
+        while (claims.hasNextField()) {
+            claims.fieldName();
+            if (claims.isField("sub")) {
+                builder.subject(claims.stringValue());
+            } else if (claims.isField("jti")) {
+                builder.tokenId(claims.stringValue());
+            } else if (claims.isField(TokenFormat.STANDARD.getUserIdClaim()) || claims.isField(TokenFormat.COMPACT.getUserIdClaim())) {
+                builder.userId(claims.longOrNullValue());
+            } else if (claims.isField(TokenFormat.STANDARD.getEmailClaim()) || claims.isField(TokenFormat.COMPACT.getEmailClaim())) {
+                builder.email(claims.stringValue());
+            } else if (claims.isField(TokenFormat.STANDARD.getRolesClaim()) || claims.isField(TokenFormat.COMPACT.getRolesClaim())) {
+                builder.authorities(RoleAuthorities.fromClaim(claims.stringValue()));
+            } else if (claims.isField("iat")) {
+                builder.issuedAt(Instant.ofEpochSecond(claims.longValue()));
+            } else if (claims.isField("exp")) {
+                expiresAt = claims.longValue();
+                builder.expiresAt(Instant.ofEpochSecond(expiresAt));
+            } else if (claims.isField("nbf") || claims.isField("aud") || claims.isField("iss")) {
+                return null;
+            } else {
+                claims.skipScalar();
+            }
+            if (claims.failed()) {
+                return null;
+            }
+        }
+        if (!claims.endObject()) {
+            return null;
+        }
+        if (expiresAt != Long.MIN_VALUE && now.getEpochSecond() >= expiresAt) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + Instant.ofEpochSecond(expiresAt)
+                    + ". Current time: " + now + ".");
+        }
+        return builder.build();
+    }
+
+    private static boolean constantTimeEquals(byte[] expected, byte[] actual, int actualLength) {
+        if (expected.length != actualLength) {
+            return false;
+        }
+        int difference = 0;
+        for (int i = 0; i < actualLength; i++) {
+            difference |= expected[i] ^ actual[i];
+        }
+        return difference == 0;
+    }
+
+    private void addHeader(JwtKey key) {
+        String json = key.getKeyId() == null
+                ? "{\"alg\":\"HS256\"}"
+                : "{\"kid\":" + jsonString(key.getKeyId()) + ",\"alg\":\"HS256\"}";
+        ByteBuffer buffer = new ByteBuffer(64);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        buffer.base64Url(bytes, 0, bytes.length);
+        encodedHeaders.put(key, Arrays.copyOf(buffer.data, buffer.length));
+    }
+
+    private static String jsonString(String value) {
+        ByteBuffer buffer = new ByteBuffer(value.length() + 8);
+        buffer.string(value);
+        return new String(buffer.data, 0, buffer.length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Per-thread buffers and MAC instances
+     */
+    private static final class Workspace {
+
+        private final ByteBuffer json = new ByteBuffer(256);
+        private final ByteBuffer token = new ByteBuffer(512);
+        private final ByteBuffer signature = new ByteBuffer(64);
+        private final FlatJsonReader reader = new FlatJsonReader();
+        private final Map<Key, Mac> macs = new IdentityHashMap<>();
+
+        private Mac mac(JwtKey key) {
+            return macs.computeIfAbsent(key.getSigningKey(), signingKey -> {
+                try {
+                    Mac mac = Mac.getInstance(HMAC_SHA256);
+                    mac.init(signingKey);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 not available", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Growable byte buffer with JSON and Base64url writers
+     */
+    private static final class ByteBuffer {
+
+        private byte[] data;
+        private int length;
+
+        private ByteBuffer(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        private ByteBuffer reset() {
+            length = 0;
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+            }
+        }
+
+        private ByteBuffer put(char c) {
+            ensure(1);
+            data[length++] = (byte) c;
+            return this;
+        }
+
+        private ByteBuffer ascii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                data[length++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        private ByteBuffer bytes(byte[] source, int offset, int count) {
+            ensure(count);
+            System.arraycopy(source, offset, data, length, count);
+            length += count;
+            return this;
+        }
+
+        private ByteBuffer decimal(long value) {
+            if (value == Long.MIN_VALUE) {
+                return ascii(Long.toString(value));
+            }
+            ensure(20);
+            if (value < 0) {
+                data[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                data[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte tmp = data[i];
+                data[i] = data[j];
+                data[j] = tmp;
+            }
+            return this;
+        }
+
+        /**
+         * Write a JSON string; non-ASCII and control characters are written as \\u escapes
+         */
+        private ByteBuffer string(String value) {
+            if (value == null) {
+                return ascii("null");
+            }
+            ensure(value.length() + 2);
+            data[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    ensure(2);
+                    data[length++] = '\\';
+                    data[length++] = (byte) c;
+                } else if (c < 0x20 || c > 0x7e) {
+                    ensure(6);
+                    data[length++] = '\\';
+                    data[length++] = 'u';
+                    data[length++] = HEX[(c >> 12) & 0xf];
+                    data[length++] = HEX[(c >> 8) & 0xf];
+                    data[length++] = HEX[(c >> 4) & 0xf];
+                    data[length++] = HEX[c & 0xf];
+                } else {
+                    ensure(1);
+                    data[length++] = (byte) c;
+                }
+            }
+            ensure(1);
+            data[length++] = '"';
+            return this;
+        }
+
+        private ByteBuffer base64Url(byte[] source, int offset, int count) {
+            ensure((count + 2) / 3 * 4);
+            int end = offset + count;
+            int i = offset;
+            while (i + 2 < end) {
+                int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8 | (source[i + 2] & 0xff);
+                data[length++] = BASE64_URL[bits >>> 18];
+                data[length++] = BASE64_URL[(bits >>> 12) & 0x3f];
+                data[length++] = BASE64_URL[(bits >>> 6) & 0x3f];
+                data[length++] = BASE64_URL[bits & 0x3f];
+                i += 3;
+            }
+            int remaining = end - i;
+            if (remaining == 1) {
+                int bits = (source[i] & 0xff) << 16;
+                data[length++] = BASE64_URL[bits >>> 18];
+                data[length++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            } else if (remaining == 2) {
+                int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8;
+                data[length++] = BASE64_URL[bits >>> 18];
+                data[length++] = BASE64_URL[(bits >>> 12) & 0x3f];
+                data[length++] = BASE64_URL[(bits >>> 6) & 0x3f];
+            }
+            return this;
+        }
+
+        /**
+         * Decode unpadded Base64url characters of a string into this buffer
+         *
+         * @return false if the input is not valid Base64url
+         */
+        private boolean base64UrlDecode(String source, int start, int end) {
+            int count = end - start;
+            if (count % 4 == 1) {
+                return false;
+            }
+            ensure(count * 3 / 4 + 3);
+            int bits = 0;
+            int bitCount = 0;
+            for (int i = start; i < end; i++) {
+                char c = source.charAt(i);
+                int value = c < 128 ? BASE64_URL_VALUES[c] : -1;
+                if (value < 0) {
+                    return false;
+                }
+                bits = bits << 6 | value;
+                bitCount += 6;
+                if (bitCount >= 8) {
+                    bitCount -= 8;
+                    data[length++] = (byte) (bits >>> bitCount);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Single-pass reader for flat JSON objects whose values are strings, numbers, booleans or null
+     * Any other shape marks the reader as failed, which makes the codec fall back to jjwt.
+     */
+    private static final class FlatJsonReader {
+
+        private byte[] data;
+        private int end;
+        private int position;
+        private boolean failed;
+        private boolean first;
+        private int nameStart;
+        private int nameEnd;
+        private final StringBuilder text = new StringBuilder();
+
+        private FlatJsonReader reset(byte[] data, int length) {
+            this.data = data;
+            this.end = length;
+            this.position = 0;
+            this.failed = false;
+            this.first = true;
+            return this;
+        }
+
+        private boolean failed() {
+            return failed;
+        }
+
+        private boolean beginObject() {
+            skipWhitespace();
+            return consume('{');
+        }
+
+        private boolean endObject() {
+            skipWhitespace();
+            if (!consume('}')) {
+                return false;
+            }
+            skipWhitespace();
+            return !failed && position == end;
+        }
+
+        private boolean hasNextField() {
+            if (failed) {
+                return false;
+            }
+            skipWhitespace();
+            if (position < end && data[position] == '}') {
+                return false;
+            }
+            if (!first && !consume(',')) {
+                failed = true;
+                return false;
+            }
+            first = false;
+            return true;
+        }
+
+        /**
+         * Read a field name and the following colon; names are compared in place by {@link #isField}
+         */
+        private void fieldName() {
+            skipWhitespace();
+            if (!consume('"')) {
+                failed = true;
+                return;
+            }
+            nameStart = position;
+            while (position < end && data[position] != '"' && data[position] != '\\') {
+                position++;
+            }
+            nameEnd = position;
+            if (!consume('"')) {
+                failed = true;
+                return;
+            }
+            skipWhitespace();
+            if (!consume(':')) {
+                failed = true;
+            }
+            skipWhitespace();
+        }
+
+        private boolean isField(String name) {
+            if (nameEnd - nameStart != name.length()) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                if (data[nameStart + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String stringValue() {
+            skipWhitespace();
+            if (matches("null")) {
+                return null;
+            }
+            String value = readString();
+            if (value == null) {
+                failed = true;
+            }
+            return value;
+        }
+
+        private Long longOrNullValue() {
+            skipWhitespace();
+            return matches("null") ? null : longValue();
+        }
+
+        private long longValue() {
+            skipWhitespace();
+            boolean negative = position < end && data[position] == '-';
+            if (negative) {
+                position++;
+            }
+            int start = position;
+            long value = 0;
+            while (position < end && data[position] >= '0' && data[position] <= '9') {
+                if (position - start >= 18) {
+                    failed = true;
+                    return 0;
+                }
+                value = value * 10 + (data[position++] - '0');
+            }
+            if (position == start || (position < end && (data[position] == '.' || data[position] == 'e'
+                    || data[position] == 'E'))) {
+                failed = true;
+                return 0;
+            }
+            return negative ? -value : value;
+        }
+
+        private void skipScalar() {
+            skipWhitespace();
+            if (position >= end) {
+                failed = true;
+            } else if (data[position] == '"') {
+                if (readString() == null) {
+                    failed = true;
+                }
+            } else if (!matches("null") && !matches("true") && !matches("false")) {
+                longValue();
+            }
+        }
+
+        private String readString() {
+            if (!consume('"')) {
+                return null;
+            }
+            int start = position;
+            while (position < end && data[position] != '"' && data[position] != '\\') {
+                position++;
+            }
+            if (position < end && data[position] == '"') {
+                return new String(data, start, position++ - start, StandardCharsets.UTF_8);
+            }
+            // slow path for escaped strings
+            text.setLength(0);
+            text.append(new String(data, start, position - start, StandardCharsets.UTF_8));
+            int chunkStart = position;
+            while (position < end) {
+                byte b = data[position];
+                if (b == '"') {
+                    text.append(new String(data, chunkStart, position++ - chunkStart, StandardCharsets.UTF_8));
+                    return text.toString();
+                }
+                if (b != '\\') {
+                    position++;
+                    continue;
+                }
+                text.append(new String(data, chunkStart, position - chunkStart, StandardCharsets.UTF_8));
+                if (position + 1 >= end) {
+                    return null;
+                }
+                byte escaped = data[position + 1];
+                position += 2;
+                switch (escaped) {
+                    case '"', '\\', '/' -> text.append((char) escaped);
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > end) {
+                            return null;
+                        }
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(data[position++], 16);
+                            if (digit < 0) {
+                                return null;
+                            }
+                            code = code << 4 | digit;
+                        }
+                        text.append((char) code);
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+                chunkStart = position;
+            }
+            return null;
+        }
+
+        private boolean matches(String literal) {
+            if (position + literal.length() > end) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (data[position + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            position += literal.length();
+            return true;
+        }
+
+        private boolean consume(char c) {
+            if (position < end && data[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (data[position] == ' ' || data[position] == '\t'
+                    || data[position] == '\n' || data[position] == '\r')) {
+                position++;
+            }
+        }
+    }
+}
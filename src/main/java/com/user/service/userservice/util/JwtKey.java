@@ -0,0 +1,77 @@
+package com.user.service.userservice.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
+
+/**
+ * Key used to sign and verify JWTs
+ * For HMAC both keys are the same secret; for ES256/EdDSA the signing key is private
+ * and the verification key is the public half published through the JWKS endpoint
+ */
+@Value
+@Builder
+public class JwtKey {
+
+    /**
+     * Key ID written to the {@code kid} header, may be null for the legacy HMAC secret
+     */
+    String keyId;
+
+    /**
+     * JWS algorithm name (HS256, ES256 or EdDSA)
+     */
+    String algorithm;
+
+    /**
+     * Key used to sign new tokens
+     */
+    Key signingKey;
+
+    /**
+     * Key used to verify token signatures
+     */
+    Key verificationKey;
+
+    /**
+     * Time from which the key may sign new tokens, null if always active
+     */
+    Instant activatesAt;
+
+    /**
+     * Time after which tokens signed with this key are no longer accepted, null if never
+     */
+    Instant retiresAt;
+
+    /**
+     * Check whether the verification key can be published
+     *
+     * @return true for ES256/EdDSA keys
+     */
+    public boolean isAsymmetric() {
+        return verificationKey instanceof PublicKey;
+    }
+
+    /**
+     * Check whether the key may sign new tokens
+     *
+     * @param now current time
+     * @return true if active and not retired
+     */
+    public boolean canSignAt(Instant now) {
+        return (activatesAt == null || !now.isBefore(activatesAt)) && canVerifyAt(now);
+    }
+
+    /**
+     * Check whether tokens signed with this key are still accepted
+     *
+     * @param now current time
+     * @return true if not retired
+     */
+    public boolean canVerifyAt(Instant now) {
+        return retiresAt == null || now.isBefore(retiresAt);
+    }
+}
@@ -0,0 +1,254 @@
+package com.user.service.userservice.util;
+
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.EdECKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.SecretKey;
+
+/**
+ * Immutable set of JWT keys selected by {@code kid}
+ * The newest active key signs; older keys keep verifying until every token they could have
+ * signed has expired, so adding a key to the keystore never invalidates outstanding tokens
+ */
+public final class JwtKeyRing {
+
+    private final List<JwtKey> keys;
+    private final Map<String, JwtKey> keysById;
+    private final JwtKey legacyKey;
+
+    private JwtKeyRing(List<JwtKey> keys, JwtKey legacyKey) {
+        this.keys = List.copyOf(keys);
+        Map<String, JwtKey> byId = new HashMap<>();
+        keys.forEach(key -> byId.put(key.getKeyId(), key));
+        this.keysById = Map.copyOf(byId);
+        this.legacyKey = legacyKey;
+    }
+
+    /**
+     * Create a ring from keys that already carry their activation and retirement times
+     *
+     * @param keys keys with key IDs
+     * @param legacyKey key for tokens without a kid header, may be null
+     * @return key ring
+     */
+    public static JwtKeyRing of(List<JwtKey> keys, JwtKey legacyKey) {
+        return new JwtKeyRing(keys, legacyKey);
+    }
+
+    /**
+     * Load every entry of a keystore into a ring
+     * Each alias becomes a kid. A key activates at its creation date (or certificate notBefore, if later)
+     * plus the activation delay, which gives every node time to load it before any node signs with it.
+     * The oldest key is always active. A key retires once its successor has been active for a full
+     * token lifetime, or at its certificate's notAfter, whichever comes first. The legacy key retires the same
+     * way, one token lifetime after the oldest key activates, since from then on it signs no new tokens.
+     *
+     * @param keyStore loaded keystore
+     * @param password key password
+     * @param activationDelay delay before a new key signs
+     * @param tokenLifetime maximum token lifetime
+     * @param legacyKey key for tokens without a kid header, may be null
+     * @param now current time
+     * @return key ring
+     * @throws GeneralSecurityException if an entry cannot be read
+     */
+    public static JwtKeyRing fromKeyStore(KeyStore keyStore, char[] password, Duration activationDelay,
+                                          Duration tokenLifetime, JwtKey legacyKey, Instant now)
+            throws GeneralSecurityException {
+        List<JwtKey> loaded = new ArrayList<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            JwtKey key = readEntry(keyStore, alias, password, activationDelay);
+            if (key != null) {
+                loaded.add(key);
+            }
+        }
+        loaded.sort(Comparator.comparing(JwtKey::getActivatesAt));
+
+        List<JwtKey> keys = new ArrayList<>();
+        for (int i = 0; i < loaded.size(); i++) {
+            JwtKey key = loaded.get(i);
+            Instant retiresAt = key.getRetiresAt();
+            if (i + 1 < loaded.size()) {
+                Instant supersededAt = loaded.get(i + 1).getActivatesAt().plus(tokenLifetime);
+                retiresAt = retiresAt == null || supersededAt.isBefore(retiresAt) ? supersededAt : retiresAt;
+            }
+            if (retiresAt == null || now.isBefore(retiresAt)) {
+                keys.add(JwtKey.builder()
+                        .keyId(key.getKeyId())
+                        .algorithm(key.getAlgorithm())
+                        .signingKey(key.getSigningKey())
+                        .verificationKey(key.getVerificationKey())
+                        .activatesAt(i == 0 ? null : key.getActivatesAt())
+                        .retiresAt(retiresAt)
+                        .build());
+            }
+        }
+        if (legacyKey != null && !loaded.isEmpty()) {
+            legacyKey = retire(legacyKey, loaded.get(0).getActivatesAt().plus(tokenLifetime));
+            if (!legacyKey.canVerifyAt(now)) {
+                legacyKey = null;
+            }
+        }
+        return new JwtKeyRing(keys, legacyKey);
+    }
+
+    /**
+     * Copy a key with a retirement time, keeping an earlier one it already has
+     *
+     * @param key key to retire
+     * @param retiresAt time after which tokens signed with the key are no longer accepted
+     * @return retiring key
+     */
+    public static JwtKey retire(JwtKey key, Instant retiresAt) {
+        Instant earliest = key.getRetiresAt() != null && key.getRetiresAt().isBefore(retiresAt)
+                ? key.getRetiresAt() : retiresAt;
+        return JwtKey.builder()
+                .keyId(key.getKeyId())
+                .algorithm(key.getAlgorithm())
+                .signingKey(key.getSigningKey())
+                .verificationKey(key.getVerificationKey())
+                .activatesAt(key.getActivatesAt())
+                .retiresAt(earliest)
+                .build();
+    }
+
+    /**
+     * Get the key that signs new tokens: the newest active key, else the legacy key
+     *
+     * @param now current time
+     * @return signing key
+     * @throws IllegalStateException if no key can sign
+     */
+    public JwtKey signingKey(Instant now) {
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            JwtKey key = keys.get(i);
+            if (key.canSignAt(now)) {
+                return key;
+            }
+        }
+        if (legacyKey != null) {
+            return legacyKey;
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+
+    /**
+     * Get the key for verifying a token
+     *
+     * @param keyId kid header, null for tokens issued before key IDs were used
+     * @param now current time
+     * @return verification key, or null if unknown or retired
+     */
+    public JwtKey verificationKey(String keyId, Instant now) {
+        JwtKey key = keyId == null ? legacyKey : keysById.get(keyId);
+        return key != null && key.canVerifyAt(now) ? key : null;
+    }
+
+    /**
+     * Get the key for tokens without a kid header
+     *
+     * @return legacy key, may be null
+     */
+    public JwtKey getLegacyKey() {
+        return legacyKey;
+    }
+
+    /**
+     * Get all keys of the ring, oldest first
+     *
+     * @return keys
+     */
+    public List<JwtKey> getKeys() {
+        return keys;
+    }
+
+    private static JwtKey readEntry(KeyStore keyStore, String alias, char[] password, Duration activationDelay)
+            throws GeneralSecurityException {
+        Key key = keyStore.getKey(alias, password);
+        Instant activatesAt = keyStore.getCreationDate(alias).toInstant();
+        Instant retiresAt = null;
+        Key verificationKey = key;
+        String algorithm;
+
+        if (key instanceof SecretKey) {
+            algorithm = "HS" + key.getAlgorithm().replace("HmacSHA", "");
+        } else if (key instanceof PrivateKey) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (certificate == null) {
+                return null;
+            }
+            PublicKey publicKey = certificate.getPublicKey();
+            verificationKey = publicKey;
+            algorithm = signatureAlgorithm(alias, publicKey);
+            if (certificate instanceof X509Certificate x509) {
+                Instant notBefore = x509.getNotBefore().toInstant();
+                activatesAt = notBefore.isAfter(activatesAt) ? notBefore : activatesAt;
+                retiresAt = x509.getNotAfter().toInstant();
+            }
+        } else {
+            return null;
+        }
+        if (algorithm == null) {
+            return null;
+        }
+
+        return JwtKey.builder()
+                .keyId(alias)
+                .algorithm(algorithm)
+                .signingKey(key)
+                .verificationKey(verificationKey)
+                .activatesAt(activatesAt.plus(activationDelay))
+                .retiresAt(retiresAt)
+                .build();
+    }
+
+    /**
+     * Get the JWS algorithm a public key verifies
+     * EC keys must be on P-256, the only curve ES256 is defined for.
+     *
+     * @param alias keystore alias, for the error message
+     * @param publicKey public key of the entry
+     * @return ES256, EdDSA, or null for key types that cannot sign tokens
+     * @throws KeyStoreException if an EC key is on another curve
+     */
+    static String signatureAlgorithm(String alias, PublicKey publicKey) throws KeyStoreException {
+        if (publicKey instanceof ECKey ecKey) {
+            if (!isP256(ecKey.getParams())) {
+                throw new KeyStoreException("EC key " + alias + " is not on curve P-256, which ES256 requires");
+            }
+            return "ES256";
+        }
+        return publicKey instanceof EdECKey ? "EdDSA" : null;
+    }
+
+    private static boolean isP256(ECParameterSpec params) throws KeyStoreException {
+        try {
+            AlgorithmParameters p256 = AlgorithmParameters.getInstance("EC");
+            p256.init(new ECGenParameterSpec("secp256r1"));
+            ECParameterSpec expected = p256.getParameterSpec(ECParameterSpec.class);
+            return expected.getCurve().equals(params.getCurve())
+                    && expected.getGenerator().equals(params.getGenerator())
+                    && expected.getOrder().equals(params.getOrder());
+        } catch (GeneralSecurityException e) {
+            throw new KeyStoreException("P-256 parameters are not available", e);
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package com.user.service.userservice.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwks;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -21,14 +49,90 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret:mySecretKey}")
+    private static final String HS256 = "HS256";
+    private static final String ES256 = "ES256";
+    private static final String EDDSA = "EdDSA";
+
+    /**
+     * Shared HMAC secret; required for HS256 without a keystore and for legacy tokens, unused otherwise
+     */
+    @Value("${jwt.secret:}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
     /**
-     * Generate JWT token for user
+     * Signing algorithm when no keystore is configured: HS256 (shared secret), ES256 or EdDSA
+     */
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm;
+
+    /**
+     * PKCS12 keystore holding the key ring, e.g. file:/etc/user-service/jwt.p12
+     * Every alias is a key ID; see {@link JwtKeyRing#fromKeyStore} for rotation rules
+     */
+    @Value("${jwt.keystore.location:}")
+    private String keystoreLocation;
+
+    @Value("${jwt.keystore.password:}")
+    private String keystorePassword;
+
+    /**
+     * Time every node gets to load a new keystore key before it starts signing
+     */
+    @Value("${jwt.keystore.activation-delay:PT5M}")
+    private Duration keystoreActivationDelay = Duration.ofMinutes(5);
+
+    /**
+     * Keep accepting tokens without a kid, signed with jwt.secret, after moving to a keystore or ES256/EdDSA
+     * They are accepted for one token lifetime after the new keys take over, then never again.
+     */
+    @Value("${jwt.legacy-tokens.enabled:false}")
+    private boolean legacyTokensEnabled;
+
+    /**
+     * Allow ES256 or EdDSA without a keystore by generating a key pair at startup, for development only
+     * Every node then signs with its own key, and all tokens stop verifying on restart.
+     */
+    @Value("${jwt.ephemeral-keys.enabled:false}")
+    private boolean ephemeralKeysEnabled;
+
+    /**
+     * Issue and verify HS256 tokens with {@link Hs256TokenCodec} instead of the general-purpose jjwt path
+     */
+    @Value("${jwt.fast-path.enabled:false}")
+    private boolean fastPathEnabled;
+
+    /**
+     * Claim layout of issued tokens; both layouts are always accepted
+     */
+    @Value("${jwt.format:STANDARD}")
+    private TokenFormat tokenFormat = TokenFormat.STANDARD;
+
+    /**
+     * Whether compact tokens carry the email claim
+     */
+    @Value("${jwt.compact.include-email:true}")
+    private boolean compactIncludeEmail = true;
+
+    /**
+     * Last modification time of the keystore the current engine was loaded from
+     */
+    private volatile long keystoreLastModified;
+
+    /**
+     * Key ring and parser built for the current secret and keystore, shared by all threads
+     */
+    private volatile SigningEngine signingEngine;
+
+    /**
+     * Incremented whenever the signing key changes, so caches of verified tokens can be dropped
+     */
+    private final AtomicLong keyGeneration = new AtomicLong();
+
+    /**
+     * Generate JWT token for user without roles
      *
      * @param userId user ID
      * @param username username
@@ -36,14 +140,48 @@ public class JwtUtil {
      * @return JWT token
      */
     public String generateToken(Long userId, String username, String email) {
+        return generateToken(userId, username, email, List.of());
+    }
+
+    /**
+     * Generate JWT token for user
+     *
+     * @param userId user ID
+     * @param username username
+     * @param email user email
+     * @param roles role names, written as one comma-separated roles claim
+     * @return JWT token
+     */
+    public String generateToken(Long userId, String username, String email, Collection<String> roles) {
         log.debug("Generating JWT token for user: {}", username);
-        
+        TokenFormat format = tokenFormat;
+        String rolesClaim = RoleAuthorities.toClaim(roles);
+        String emailClaim = format == TokenFormat.COMPACT && !compactIncludeEmail ? null : email;
+        String tokenId = newTokenId(format);
+
+        if (fastPathEnabled) {
+            SigningEngine engine = getSigningEngine();
+            long now = System.currentTimeMillis();
+            JwtKey signingKey = engine.keyRing().signingKey(Instant.ofEpochMilli(now));
+            if (Hs256TokenCodec.supports(signingKey)) {
+                return engine.codec().encode(signingKey, format, tokenId, userId, username, emailClaim, rolesClaim,
+                        now / 1000, (now + expiration) / 1000);
+            }
+        }
+
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        claims.put("username", username);
-        claims.put("email", email);
-        
-        return createToken(claims, username);
+        claims.put(format.getUserIdClaim(), userId);
+        if (format.getUsernameClaim() != null) {
+            claims.put(format.getUsernameClaim(), username);
+        }
+        if (emailClaim != null) {
+            claims.put(format.getEmailClaim(), emailClaim);
+        }
+        if (rolesClaim != null) {
+            claims.put(format.getRolesClaim(), rolesClaim);
+        }
+
+        return createToken(claims, username, tokenId);
     }
 
     /**
@@ -51,21 +189,96 @@ public class JwtUtil {
      *
      * @param claims token claims
      * @param subject token subject (username)
+     * @param tokenId jti claim
      * @return JWT token
      */
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, String tokenId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
-        
+
+        JwtKey signingKey = getSigningEngine().keyRing().signingKey(now.toInstant());
+
         return Jwts.builder()
+                .header().keyId(signingKey.getKeyId()).and()
+                .id(tokenId)
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey.getSigningKey())
                 .compact();
     }
 
+    /**
+     * Create a token ID for the jti claim
+     * The ID only has to be unique, not unpredictable, so it is drawn from the per-thread generator
+     * instead of contending on the shared SecureRandom behind {@link UUID#randomUUID()}
+     *
+     * @param format token format
+     * @return 128 random bits, in UUID format or, for compact tokens, as 22 Base64url characters
+     */
+    private static String newTokenId(TokenFormat format) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (format == TokenFormat.STANDARD) {
+            return new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Parse and verify a token exactly once
+     * Signature and expiry are checked and the claims are copied into an immutable value,
+     * so callers never need to parse the same token again
+     *
+     * @param token JWT token
+     * @return verified token claims
+     * @throws JwtException if the token is malformed, has an invalid signature or is expired
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (fastPathEnabled) {
+            VerifiedToken verifiedToken = getSigningEngine().codec().decode(token, Instant.now());
+            if (verifiedToken != null) {
+                return verifiedToken;
+            }
+        }
+        return toVerifiedToken(extractAllClaims(token));
+    }
+
+    /**
+     * Copy the claims used by the application into a verified token value
+     *
+     * @param claims verified claims
+     * @return verified token
+     */
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiresAt = claims.getExpiration();
+        return VerifiedToken.builder()
+                .tokenId(claims.getId())
+                .subject(claims.getSubject())
+                .userId(claim(claims, Long.class, TokenFormat::getUserIdClaim))
+                .email(claim(claims, String.class, TokenFormat::getEmailClaim))
+                .authorities(RoleAuthorities.fromClaim(claim(claims, String.class, TokenFormat::getRolesClaim)))
+                .issuedAt(issuedAt != null ? issuedAt.toInstant() : null)
+                .expiresAt(expiresAt != null ? expiresAt.toInstant() : null)
+                .build();
+    }
+
+    /**
+     * Read a claim under its standard name, falling back to its compact name
+     *
+     * @param claims verified claims
+     * @param type claim type
+     * @param name claim name per format
+     * @return claim value, or null if absent in both layouts
+     */
+    private static <T> T claim(Claims claims, Class<T> type, Function<TokenFormat, String> name) {
+        T value = claims.get(name.apply(TokenFormat.STANDARD), type);
+        return value != null ? value : claims.get(name.apply(TokenFormat.COMPACT), type);
+    }
+
     /**
      * Extract username from token
      *
@@ -107,9 +320,7 @@ public class JwtUtil {
      * @return all claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getSigningEngine().parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -121,7 +332,11 @@ public class JwtUtil {
      * @return true if expired
      */
     public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        try {
+            return extractExpiration(token).before(new Date());
+        } catch (ExpiredJwtException e) {
+            return true;
+        }
     }
 
     /**
@@ -133,8 +348,7 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            return verifyToken(token).getSubject().equals(username);
         } catch (Exception e) {
             log.warn("Token validation failed: {}", e.getMessage());
             return false;
@@ -142,13 +356,90 @@ public class JwtUtil {
     }
 
     /**
-     * Get signing key for JWT
+     * Replace the signing secret at runtime, e.g. after a configuration refresh.
+     * Tokens signed with the previous secret stop verifying immediately.
+     *
+     * @param newSecret new HMAC secret
+     */
+    public synchronized void reloadSecret(String newSecret) {
+        log.info("Reloading JWT signing key");
+        this.secret = newSecret;
+        this.signingEngine = buildSigningEngine();
+        keyGeneration.incrementAndGet();
+    }
+
+    /**
+     * Reload the key ring when the keystore file changed, so keys can be rotated without a restart
+     */
+    @Scheduled(fixedDelayString = "${jwt.keystore.reload-interval:30000}",
+            initialDelayString = "${jwt.keystore.reload-interval:30000}")
+    public void reloadKeystoreIfModified() {
+        if (!StringUtils.hasText(keystoreLocation)) {
+            return;
+        }
+        try {
+            long lastModified = new DefaultResourceLoader().getResource(keystoreLocation).lastModified();
+            if (lastModified != keystoreLastModified) {
+                synchronized (this) {
+                    log.info("JWT keystore {} changed, reloading key ring", keystoreLocation);
+                    signingEngine = buildSigningEngine();
+                    keyGeneration.incrementAndGet();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.error("Failed to reload JWT keystore, keeping current keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get a counter that changes every time the signing key is rebuilt
+     *
+     * @return key generation
+     */
+    public long getKeyGeneration() {
+        getSigningEngine();
+        return keyGeneration.get();
+    }
+
+    /**
+     * Load the signing key eagerly so keystore problems fail the startup instead of the first login
+     */
+    @PostConstruct
+    public void init() {
+        JwtKey signingKey = getSigningEngine().keyRing().signingKey(Instant.now());
+        log.info("JWT signing initialized with algorithm {} and key id {}", signingKey.getAlgorithm(), signingKey.getKeyId());
+    }
+
+    /**
+     * Get the public keys for the JWKS endpoint
+     * Empty when tokens are signed with the shared HMAC secret
      *
-     * @return secret key
+     * @return public JWK set
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public PublicJwkSet getPublicJwkSet() {
+        return getSigningEngine().jwkSet();
+    }
+
+    /**
+     * Get the signing engine for the configured secret.
+     * The key and parser are derived once and then reused; they are rebuilt only
+     * when the configured secret changes.
+     *
+     * @return signing engine
+     */
+    private SigningEngine getSigningEngine() {
+        SigningEngine engine = signingEngine;
+        if (engine == null || !Objects.equals(engine.secret(), secret)) {
+            synchronized (this) {
+                engine = signingEngine;
+                if (engine == null || !Objects.equals(engine.secret(), secret)) {
+                    engine = buildSigningEngine();
+                    signingEngine = engine;
+                    keyGeneration.incrementAndGet();
+                }
+            }
+        }
+        return engine;
     }
 
     /**
@@ -159,4 +450,128 @@ public class JwtUtil {
     public Long getExpirationTime() {
         return expiration;
     }
+
+    /**
+     * Build the signing engine from the keystore, or from the configured algorithm without one
+     * The HMAC secret is the key for tokens without a kid only when it signs (HS256 without a keystore), or
+     * when jwt.legacy-tokens.enabled keeps it verifying for one token lifetime after the switch; otherwise
+     * a secret left in the configuration could mint tokens that every mode accepts. The secret is only read in
+     * those two cases, so it need not be set at all in the others.
+     *
+     * @return signing engine
+     */
+    private SigningEngine buildSigningEngine() {
+        if (StringUtils.hasText(keystoreLocation)) {
+            return SigningEngine.of(secret, loadKeyRing(legacyTokensEnabled ? secretKey() : null));
+        }
+
+        String jwsAlgorithm = algorithm == null ? HS256 : algorithm.trim();
+        if (HS256.equalsIgnoreCase(jwsAlgorithm)) {
+            return SigningEngine.of(secret, JwtKeyRing.of(List.of(), secretKey()));
+        }
+        if (ES256.equalsIgnoreCase(jwsAlgorithm) || EDDSA.equalsIgnoreCase(jwsAlgorithm)) {
+            if (!ephemeralKeysEnabled) {
+                throw new IllegalStateException("jwt.algorithm " + jwsAlgorithm + " requires jwt.keystore.location; "
+                        + "set jwt.ephemeral-keys.enabled to generate a throwaway key pair for development");
+            }
+            log.warn("No jwt.keystore.location configured, generating an ephemeral {} key pair", jwsAlgorithm);
+            boolean ecdsa = ES256.equalsIgnoreCase(jwsAlgorithm);
+            KeyPair keyPair = ecdsa ? Jwts.SIG.ES256.keyPair().build() : Jwks.CRV.Ed25519.keyPair().build();
+            JwtKey ephemeralKey = JwtKey.builder()
+                    .keyId(UUID.randomUUID().toString())
+                    .algorithm(ecdsa ? ES256 : EDDSA)
+                    .signingKey(keyPair.getPrivate())
+                    .verificationKey(keyPair.getPublic())
+                    .build();
+            JwtKey retiringKey = legacyTokensEnabled
+                    ? JwtKeyRing.retire(secretKey(), Instant.now().plusMillis(expiration))
+                    : null;
+            return SigningEngine.of(secret, JwtKeyRing.of(List.of(ephemeralKey), retiringKey));
+        }
+        throw new IllegalStateException("Unsupported jwt.algorithm: " + algorithm);
+    }
+
+    /**
+     * Derive the key for tokens without a kid from jwt.secret
+     *
+     * @return HMAC key
+     * @throws IllegalStateException if no secret is configured
+     */
+    private JwtKey secretKey() {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalStateException("jwt.secret must be set for HS256 without a keystore "
+                    + "and for jwt.legacy-tokens.enabled");
+        }
+        // hmacShaKeyFor picks HmacSHA384 or HmacSHA512 for longer secrets, which jjwt then signs with
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return JwtKey.builder()
+                .algorithm("HS" + key.getAlgorithm().replace("HmacSHA", ""))
+                .signingKey(key)
+                .verificationKey(key)
+                .build();
+    }
+
+    /**
+     * Load the key ring from the configured PKCS12 keystore
+     *
+     * @param legacyKey key for tokens without a kid header
+     * @return key ring
+     */
+    private JwtKeyRing loadKeyRing(JwtKey legacyKey) {
+        char[] password = keystorePassword.toCharArray();
+        Resource resource = new DefaultResourceLoader().getResource(keystoreLocation);
+        try (InputStream inputStream = resource.getInputStream()) {
+            long lastModified = resource.lastModified();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(inputStream, password);
+            JwtKeyRing keyRing = JwtKeyRing.fromKeyStore(keyStore, password, keystoreActivationDelay,
+                    Duration.ofMillis(expiration), legacyKey, Instant.now());
+            keystoreLastModified = lastModified;
+            log.info("Loaded {} JWT keys from {}", keyRing.getKeys().size(), keystoreLocation);
+            return keyRing;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to load JWT keystore " + keystoreLocation, e);
+        }
+    }
+
+    /**
+     * Immutable key ring, verifying parser, public keys and fast-path codec; all are thread-safe and meant to be shared
+     */
+    private record SigningEngine(String secret, JwtKeyRing keyRing, JwtParser parser, PublicJwkSet jwkSet,
+                                 Hs256TokenCodec codec) {
+
+        private static SigningEngine of(String secret, JwtKeyRing keyRing) {
+            JwtParser parser = Jwts.parser()
+                    .keyLocator(new KeyIdLocator(keyRing))
+                    .build();
+            return new SigningEngine(secret, keyRing, parser, PublicJwkSet.of(keyRing.getKeys()),
+                    new Hs256TokenCodec(keyRing));
+        }
+    }
+
+    /**
+     * Selects the verification key by the {@code kid} header; tokens without a kid use the legacy secret
+     * The header's {@code alg} must be the key's own algorithm, so an HS512 secret never verifies HS256 tokens.
+     */
+    private static class KeyIdLocator extends LocatorAdapter<Key> {
+
+        private final JwtKeyRing keyRing;
+
+        private KeyIdLocator(JwtKeyRing keyRing) {
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            JwtKey jwtKey = keyRing.verificationKey(header.getKeyId(), Instant.now());
+            if (jwtKey == null) {
+                throw new UnsupportedJwtException("Unknown or retired JWT key id: " + header.getKeyId());
+            }
+            if (!jwtKey.getAlgorithm().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("JWT algorithm " + header.getAlgorithm() + " does not match key "
+                        + header.getKeyId() + " (" + jwtKey.getAlgorithm() + ")");
+            }
+            return jwtKey.getVerificationKey();
+        }
+    }
 }
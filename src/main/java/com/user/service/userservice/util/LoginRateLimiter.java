@@ -0,0 +1,142 @@
+package com.user.service.userservice.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.user.service.userservice.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory login rate limiter keyed by login identifier and by client IP
+ * Runs before the user lookup and the password check, so an over-limit attempt costs one map lookup
+ * and one CAS. Each key has its own {@link TokenBucket}; buckets idle for longer than the idle timeout
+ * are evicted, and the number of tracked keys is capped so a spray of distinct keys cannot exhaust
+ * the heap. Limits are per instance.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Limit identifierLimit;
+    private final Limit ipLimit;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${login.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${login.rate-limit.identifier.capacity:5}") int identifierCapacity,
+                            @Value("${login.rate-limit.identifier.refill-period:1m}") Duration identifierRefill,
+                            @Value("${login.rate-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${login.rate-limit.ip.refill-period:3s}") Duration ipRefill,
+                            @Value("${login.rate-limit.idle-timeout:15m}") Duration idleTimeout,
+                            @Value("${login.rate-limit.maximum-keys:100000}") long maximumKeys,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(enabled, identifierCapacity, identifierRefill, ipCapacity, ipRefill, idleTimeout, maximumKeys,
+                Ticker.systemTicker());
+        meterRegistry.ifAvailable(registry -> {
+            identifierLimit.register(registry);
+            ipLimit.register(registry);
+        });
+    }
+
+    LoginRateLimiter(boolean enabled, int identifierCapacity, Duration identifierRefill, int ipCapacity,
+                     Duration ipRefill, Duration idleTimeout, long maximumKeys, Ticker ticker) {
+        this.enabled = enabled;
+        this.ticker = ticker;
+        this.identifierLimit = new Limit("identifier", identifierCapacity, identifierRefill, idleTimeout, maximumKeys, ticker);
+        this.ipLimit = new Limit("ip", ipCapacity, ipRefill, idleTimeout, maximumKeys, ticker);
+        log.info("Login rate limiter {}: {} attempts per identifier every {}, {} per IP every {}",
+                enabled ? "enabled" : "disabled", identifierCapacity, identifierRefill, ipCapacity, ipRefill);
+    }
+
+    /**
+     * Take one login attempt from the identifier's and the client's budget
+     *
+     * @param identifier email or username from the login request
+     * @param clientIp client IP address
+     * @throws TooManyLoginAttemptsException if either budget is exhausted
+     */
+    public void checkLogin(String identifier, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = ticker.read();
+        long wait = ipLimit.tryConsume(clientIp, now);
+        if (wait == 0 && identifier != null) {
+            wait = identifierLimit.tryConsume(identifier.trim().toLowerCase(Locale.ROOT), now);
+        }
+        if (wait > 0) {
+            log.warn("Login rate limit exceeded for identifier: {} from {}", identifier, clientIp);
+            throw new TooManyLoginAttemptsException("Too many login attempts, please retry later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    /**
+     * Get the approximate number of tracked identifiers and IPs, after evicting idle ones
+     *
+     * @return tracked key count
+     */
+    public long size() {
+        identifierLimit.buckets.cleanUp();
+        ipLimit.buckets.cleanUp();
+        return identifierLimit.buckets.estimatedSize() + ipLimit.buckets.estimatedSize();
+    }
+
+    /**
+     * Token buckets of one key type
+     */
+    private static final class Limit {
+
+        private final String name;
+        private final int capacity;
+        private final long refillNanos;
+        private final Cache<String, TokenBucket> buckets;
+        private final LongAdder rejected = new LongAdder();
+
+        private Limit(String name, int capacity, Duration refill, Duration idleTimeout, long maximumKeys, Ticker ticker) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillNanos = refill.toNanos();
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(idleTimeout)
+                    .maximumSize(maximumKeys)
+                    .ticker(ticker)
+                    .build();
+        }
+
+        private long tryConsume(String key, long now) {
+            if (key == null) {
+                return 0;
+            }
+            long wait = buckets.get(key, k -> new TokenBucket(capacity, refillNanos, now)).tryConsume(now);
+            if (wait > 0) {
+                rejected.increment();
+            }
+            return wait;
+        }
+
+        private void register(MeterRegistry registry) {
+            FunctionCounter.builder("login.rate-limit.rejected", rejected, LongAdder::sum)
+                    .description("Login attempts rejected by the rate limiter")
+                    .tag("key", name)
+                    .register(registry);
+            Gauge.builder("login.rate-limit.keys", buckets, Cache::estimatedSize)
+                    .description("Identifiers or IPs with a tracked login budget")
+                    .tag("key", name)
+                    .register(registry);
+        }
+    }
+}
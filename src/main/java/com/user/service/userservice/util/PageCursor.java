@@ -0,0 +1,51 @@
+package com.user.service.userservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list of users ordered by creation time and ID, newest first
+ * A page continues after the (createdAt, id) of the last user of the previous page, so the database seeks
+ * straight to it in the (created_at, id) index however deep the page is. Clients receive the position as an
+ * opaque URL-safe string and pass it back unchanged.
+ *
+ * @param createdAt creation time of the last user seen
+ * @param id ID of the last user seen
+ */
+public record PageCursor(LocalDateTime createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Encode the cursor for a response
+     *
+     * @return opaque cursor string
+     */
+    public String encode() {
+        return ENCODER.encodeToString((createdAt + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor string; also used by Spring to bind cursor request parameters
+     *
+     * @param value cursor string from {@link #encode()}
+     * @return decoded cursor
+     * @throws IllegalArgumentException if the string is not a cursor
+     */
+    public static PageCursor valueOf(String value) {
+        try {
+            String decoded = new String(DECODER.decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(',');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.user.service.userservice.util;
+
+import com.user.service.userservice.exception.ServerBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated pool for password hashing work
+ * BCrypt is pure CPU, so the pool has one thread per core and a bounded queue in front of it. Requests
+ * that do not fit are rejected immediately instead of queueing on Tomcat threads, which keeps a login
+ * burst from starving every other endpoint.
+ * Only the hash itself runs on the pool: the returned futures complete on the application task executor, so
+ * the database work callers chain onto them never occupies a hashing thread.
+ * Queue depth, queue wait and task time are published under {@code executor.*} with the tag
+ * {@code name=password.hashing}; shed requests are counted in {@code password.hashing.rejected}.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    static final String EXECUTOR_NAME = "password.hashing";
+
+    private final Executor executor;
+    private final Executor completionExecutor;
+    private final ExecutorService pool;
+    private final long retryAfterSeconds;
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public PasswordHashingExecutor(@Value("${password.hashing.threads:0}") int threads,
+                                   @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${password.hashing.retry-after:1}") long retryAfterSeconds,
+                                   @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                   Executor completionExecutor,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.completionExecutor = completionExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            this.executor = ExecutorServiceMetrics.monitor(registry, pool, EXECUTOR_NAME);
+            FunctionCounter.builder(EXECUTOR_NAME + ".rejected", rejected, LongAdder::sum)
+                    .description("Requests rejected because the password hashing queue was full")
+                    .register(registry);
+        } else {
+            this.executor = pool;
+        }
+        log.info("Password hashing pool initialized with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Create an instance that runs tasks and completes their futures on the given executor, e.g. the caller thread
+     *
+     * @param executor executor running the tasks
+     * @param retryAfterSeconds Retry-After value for rejected tasks
+     */
+    public PasswordHashingExecutor(Executor executor, long retryAfterSeconds) {
+        this.executor = executor;
+        this.completionExecutor = executor;
+        this.pool = null;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Run a task that hashes or checks a password, and nothing else
+     *
+     * @param task task to run
+     * @return future completed on the completion executor with the task's result or exception
+     * @throws ServerBusyException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> hashed;
+        try {
+            hashed = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new ServerBusyException("Server is busy, please retry later", retryAfterSeconds);
+        }
+        CompletableFuture<T> resumed = new CompletableFuture<>();
+        hashed.whenComplete((result, failure) -> {
+            Runnable complete = () -> {
+                if (failure != null) {
+                    resumed.completeExceptionally(failure);
+                } else {
+                    resumed.complete(result);
+                }
+            };
+            try {
+                completionExecutor.execute(complete);
+            } catch (RejectedExecutionException e) {
+                complete.run();
+            }
+        });
+        return resumed;
+    }
+
+    /**
+     * Get the number of tasks rejected since startup
+     *
+     * @return rejected task count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.user.service.userservice.util;
+
+import lombok.Value;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public JSON Web Key Set (RFC 7517) for the asymmetric JWT keys
+ * Built once per key change together with a strong ETag, so the JWKS endpoint
+ * only serves precomputed data
+ */
+@Value
+public class PublicJwkSet {
+
+    /**
+     * JWK entries, one per public key
+     */
+    List<Map<String, Object>> keys;
+
+    /**
+     * Quoted ETag value derived from the key material
+     */
+    String etag;
+
+    /**
+     * Build a JWK set from the asymmetric keys; HMAC secrets are never published
+     *
+     * @param jwtKeys keys to publish
+     * @return public JWK set
+     */
+    public static PublicJwkSet of(Collection<JwtKey> jwtKeys) {
+        List<Map<String, Object>> keys = jwtKeys.stream()
+                .filter(JwtKey::isAsymmetric)
+                .map(PublicJwkSet::toJwk)
+                .toList();
+        return new PublicJwkSet(keys, etag(keys));
+    }
+
+    /**
+     * Get the response body of the JWKS endpoint
+     *
+     * @return JWK set document
+     */
+    public Map<String, Object> toDocument() {
+        return Map.of("keys", keys);
+    }
+
+    private static Map<String, Object> toJwk(JwtKey jwtKey) {
+        PublicKey publicKey = (PublicKey) jwtKey.getVerificationKey();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            int size = (ecPublicKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + ecPublicKey.getParams().getCurve().getField().getFieldSize());
+            jwk.put("x", base64Url(unsigned(ecPublicKey.getW().getAffineX(), size)));
+            jwk.put("y", base64Url(unsigned(ecPublicKey.getW().getAffineY(), size)));
+        } else if (publicKey instanceof EdECPublicKey) {
+            byte[] encoded = publicKey.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + publicKey.getAlgorithm());
+        }
+        jwk.put("use", "sig");
+        jwk.put("alg", jwtKey.getAlgorithm());
+        if (jwtKey.getKeyId() != null) {
+            jwk.put("kid", jwtKey.getKeyId());
+        }
+        return jwk;
+    }
+
+    private static byte[] unsigned(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == size) {
+            return bytes;
+        }
+        byte[] result = new byte[size];
+        int length = Math.min(bytes.length, size);
+        System.arraycopy(bytes, bytes.length - length, result, size - length, length);
+        return result;
+    }
+
+    private static String etag(List<Map<String, Object>> keys) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(keys.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + base64Url(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,64 @@
+package com.user.service.userservice.util;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Conversion between role names and the roles JWT claim
+ * The claim is the sorted, comma-separated role names, e.g. {@code "ADMIN,TEACHER"}. Each distinct claim value
+ * maps to one shared immutable set of {@code ROLE_*} authorities, so requests never build their own collections.
+ */
+public final class RoleAuthorities {
+
+    // only signed claims reach the interner, so the number of role combinations is small; the cap is a safety net
+    private static final int MAX_INTERNED = 1024;
+    private static final ConcurrentMap<String, Set<GrantedAuthority>> INTERNED = new ConcurrentHashMap<>();
+
+    private RoleAuthorities() {
+    }
+
+    /**
+     * Encode role names as a claim value
+     *
+     * @param roles role names without the ROLE_ prefix
+     * @return claim value, or null if there are no roles
+     */
+    public static String toClaim(Collection<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return null;
+        }
+        return roles.stream().distinct().sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * Get the shared authority set for a claim value
+     *
+     * @param claim claim value, may be null
+     * @return immutable authority set, the same instance for equal claim values
+     */
+    public static Set<GrantedAuthority> fromClaim(String claim) {
+        if (claim == null || claim.isEmpty()) {
+            return Set.of();
+        }
+        Set<GrantedAuthority> authorities = INTERNED.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = Arrays.stream(claim.split(","))
+                .filter(role -> !role.isEmpty())
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .collect(Collectors.toUnmodifiableSet());
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return authorities;
+        }
+        Set<GrantedAuthority> existing = INTERNED.putIfAbsent(claim, authorities);
+        return existing != null ? existing : authorities;
+    }
+}
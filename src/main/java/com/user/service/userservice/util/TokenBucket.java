@@ -0,0 +1,52 @@
+package com.user.service.userservice.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket
+ * Implemented as the generic cell rate algorithm: the whole bucket is one "theoretical arrival time" in an
+ * {@link AtomicLong}, so taking a token is a single CAS and an idle bucket needs no refill bookkeeping.
+ * The bucket holds up to {@code capacity} tokens and regains one every {@code refillNanos}.
+ */
+public final class TokenBucket {
+
+    private final long refillNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Create a full bucket
+     *
+     * @param capacity maximum number of tokens
+     * @param refillNanos time to regain one token
+     * @param nowNanos current time
+     */
+    public TokenBucket(int capacity, long refillNanos, long nowNanos) {
+        if (capacity < 1 || refillNanos < 1) {
+            throw new IllegalArgumentException("Capacity and refill interval must be positive");
+        }
+        this.refillNanos = refillNanos;
+        this.burstNanos = refillNanos * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token if available
+     *
+     * @param nowNanos current time
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = current - nowNanos > 0 ? current : nowNanos;
+            long wait = start - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + refillNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.user.service.userservice.util;
+
+/**
+ * Claim layout of issued tokens, selected with {@code jwt.format}
+ * STANDARD repeats the username as a custom claim next to {@code sub} and uses descriptive claim names.
+ * COMPACT uses short claim names, drops the duplicated username, may omit the email and uses a 22-character jti.
+ * Verification accepts both layouts, so switching the format never invalidates outstanding tokens.
+ */
+public enum TokenFormat {
+
+    STANDARD("userId", "email", "roles", "username"),
+    COMPACT("uid", "em", "rl", null);
+
+    private final String userIdClaim;
+    private final String emailClaim;
+    private final String rolesClaim;
+    private final String usernameClaim;
+
+    TokenFormat(String userIdClaim, String emailClaim, String rolesClaim, String usernameClaim) {
+        this.userIdClaim = userIdClaim;
+        this.emailClaim = emailClaim;
+        this.rolesClaim = rolesClaim;
+        this.usernameClaim = usernameClaim;
+    }
+
+    /**
+     * Get the name of the user ID claim
+     *
+     * @return claim name
+     */
+    public String getUserIdClaim() {
+        return userIdClaim;
+    }
+
+    /**
+     * Get the name of the email claim
+     *
+     * @return claim name
+     */
+    public String getEmailClaim() {
+        return emailClaim;
+    }
+
+    /**
+     * Get the name of the roles claim
+     *
+     * @return claim name
+     */
+    public String getRolesClaim() {
+        return rolesClaim;
+    }
+
+    /**
+     * Get the name of the claim repeating the subject
+     *
+     * @return claim name, or null if the username is only carried in {@code sub}
+     */
+    public String getUsernameClaim() {
+        return usernameClaim;
+    }
+}
@@ -0,0 +1,149 @@
+package com.user.service.userservice.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.UserLoginRow;
+import com.user.service.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Read-through cache of the login lookup by email or username
+ * Entries are the immutable rows of {@link UserRepository#findLoginRows}, keyed by the lower-cased identifier,
+ * and every hit is folded into a new detached User, so callers never share an instance. Caffeine's W-TinyLFU
+ * policy only admits a new identifier over one that is looked up more often, so a scan over many distinct
+ * identifiers, such as credential stuffing, cannot push out hot accounts. Unknown identifiers are not cached.
+ * Writes through UserServiceImpl invalidate the user's entries. Writes on other instances, including password
+ * re-hashes and lockouts, bump users.updated_at; each refresh interval the IDs updated since the previous
+ * refresh are read from the updated_at index and their entries dropped, so a hit never serves a row more than
+ * one refresh interval older than the database. The TTL bounds anything the refresh misses.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    static final String CACHE_NAME = "users.login";
+
+    // re-read window that covers clock skew and transactions committing after the previous refresh
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<String, List<UserLoginRow>> cache;
+    private LocalDateTime lastRefresh = LocalDateTime.now();
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     @Value("${user.cache.enabled:true}") boolean enabled,
+                     @Value("${user.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${user.cache.ttl:1m}") Duration ttl,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this(userRepository, enabled, maximumSize, ttl, Ticker.systemTicker());
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    UserCache(UserRepository userRepository, boolean enabled, long maximumSize, Duration ttl, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        log.info("User cache {} with maximum size {} and TTL {}", enabled ? "enabled" : "disabled", maximumSize, ttl);
+    }
+
+    /**
+     * Find the login columns of a user by either email or username, ignoring case
+     *
+     * @param emailOrUsername email or username to search for
+     * @return detached User with its login columns and role names if found, null otherwise
+     */
+    public User findForLogin(String emailOrUsername) {
+        if (!enabled) {
+            return userRepository.findForLogin(emailOrUsername);
+        }
+        List<UserLoginRow> rows = cache.get(key(emailOrUsername), key -> {
+            List<UserLoginRow> loaded = userRepository.findLoginRows(emailOrUsername);
+            return loaded.isEmpty() ? null : List.copyOf(loaded);
+        });
+        return rows != null ? UserLoginRow.toUser(rows) : null;
+    }
+
+    /**
+     * Drop the cached entries of a user after a write
+     *
+     * @param user user whose row changed
+     */
+    public void invalidate(User user) {
+        if (user.getUsername() != null) {
+            cache.invalidate(key(user.getUsername()));
+        }
+        if (user.getEmail() != null) {
+            cache.invalidate(key(user.getEmail()));
+        }
+    }
+
+    /**
+     * Drop the entries of users updated on any instance since the previous refresh
+     */
+    @Scheduled(fixedDelayString = "${user.cache.refresh-interval:5000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Set<Long> updated;
+        try {
+            updated = new HashSet<>(userRepository.findIdsUpdatedSince(lastRefresh.minus(REFRESH_OVERLAP)));
+        } catch (DataAccessException e) {
+            log.warn("Failed to read updated users, dropping all {} cached entries: {}", cache.estimatedSize(), e.getMessage());
+            cache.invalidateAll();
+            return;
+        }
+        if (!updated.isEmpty()) {
+            cache.asMap().values().removeIf(rows -> updated.contains(rows.get(0).id()));
+        }
+        lastRefresh = startedAt;
+    }
+
+    /**
+     * Get hit, miss and eviction counters for tuning the cache size
+     *
+     * @return cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Get the approximate number of cached identifiers
+     *
+     * @return cached identifier count
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String key(String emailOrUsername) {
+        return emailOrUsername.toLowerCase(Locale.ROOT);
+    }
+}
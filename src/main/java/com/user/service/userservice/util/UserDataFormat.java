@@ -0,0 +1,68 @@
+package com.user.service.userservice.util;
+
+import com.user.service.userservice.exception.InvalidImportException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File format of user imports and exports, one record per line
+ */
+public enum UserDataFormat {
+
+    CSV(UserDataFormat.CSV_MEDIA_TYPE),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE);
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private final String mediaType;
+
+    UserDataFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Get the media type of this format
+     *
+     * @return media type without parameters
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Get the format of a content type
+     *
+     * @param contentType content type of the body, parameters are ignored
+     * @return format
+     * @throws InvalidImportException if the content type is neither CSV nor NDJSON
+     */
+    public static UserDataFormat fromContentType(String contentType) {
+        MediaType parsed = MediaType.parseMediaType(contentType);
+        for (UserDataFormat format : values()) {
+            if (parsed.isCompatibleWith(MediaType.parseMediaType(format.mediaType))) {
+                return format;
+            }
+        }
+        throw new InvalidImportException("Unsupported import content type: " + contentType);
+    }
+
+    /**
+     * Get the format of a file from its extension
+     *
+     * @param fileName file name ending in .csv, .ndjson or .jsonl
+     * @return format
+     * @throws InvalidImportException if the extension is not recognized
+     */
+    public static UserDataFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new InvalidImportException("Cannot tell the import format of " + fileName
+                + ", expected a .csv, .ndjson or .jsonl file");
+    }
+}
@@ -0,0 +1,100 @@
+package com.user.service.userservice.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.repository.UserExportRow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * Writes exported users, one record per line
+ * CSV output starts with a header line; fields containing a comma, quote or line break are quoted. NDJSON
+ * output holds one object per line. Nothing is buffered beyond the underlying writer.
+ */
+public class UserExportWriter {
+
+    private static final String CSV_HEADER = "id,username,email,fullName,createdAt,updatedAt\n";
+
+    private final Writer writer;
+    private final UserDataFormat format;
+    private final ObjectMapper objectMapper;
+    private boolean started;
+
+    public UserExportWriter(Writer writer, UserDataFormat format, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write one user
+     *
+     * @param row exported columns of the user
+     * @throws UncheckedIOException if the output cannot be written, e.g. because the client went away
+     */
+    public void write(UserExportRow row) {
+        try {
+            start();
+            if (format == UserDataFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(row));
+            } else {
+                writer.write(String.valueOf(row.id()));
+                writer.write(',');
+                writer.write(csv(row.username()));
+                writer.write(',');
+                writer.write(csv(row.email()));
+                writer.write(',');
+                writer.write(csv(row.fullName()));
+                writer.write(',');
+                writer.write(csv(row.createdAt()));
+                writer.write(',');
+                writer.write(csv(row.updatedAt()));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export", e);
+        }
+    }
+
+    /**
+     * Finish the output, writing the CSV header if no user was written
+     *
+     * @throws UncheckedIOException if the output cannot be written
+     */
+    public void finish() {
+        try {
+            start();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export", e);
+        }
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            if (format == UserDataFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+        }
+    }
+
+    private static String csv(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,172 @@
+package com.user.service.userservice.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.dto.request.RegisterRequestDTO;
+import com.user.service.userservice.exception.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads registration requests from a bulk import body, one record per line
+ * The body is consumed as it is read, so only the current line is held in memory. CSV bodies start with a
+ * header naming the columns {@code username}, {@code email}, {@code password} and optionally {@code fullName}
+ * in any order; fields may be quoted, with {@code ""} for a literal quote, but may not span lines. NDJSON
+ * bodies hold one registration object per line. Blank lines are skipped in both formats.
+ */
+public class UserImportReader {
+
+    /**
+     * One record of the body
+     *
+     * @param line line number, starting at 1
+     * @param request parsed request, null if the line could not be parsed
+     * @param error reason the line could not be parsed, null otherwise
+     */
+    public record Row(int line, RegisterRequestDTO request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final UserDataFormat format;
+    private final ObjectMapper objectMapper;
+    private int line;
+    private int[] columns;
+
+    public UserImportReader(Reader reader, UserDataFormat format, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the next record
+     *
+     * @return next row, or null at the end of the body
+     * @throws InvalidImportException if a CSV body lacks a usable header
+     * @throws UncheckedIOException if the body cannot be read
+     */
+    public Row next() {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        if (format == UserDataFormat.NDJSON) {
+            return parseJson(text);
+        }
+        if (columns == null) {
+            columns = parseHeader(text);
+            return next();
+        }
+        return parseCsv(text);
+    }
+
+    private String readLine() {
+        try {
+            String text = reader.readLine();
+            if (text != null) {
+                line++;
+            }
+            return text;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+    }
+
+    private Row parseJson(String text) {
+        try {
+            return new Row(line, objectMapper.readValue(text, RegisterRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Malformed JSON");
+        }
+    }
+
+    // maps username, email, password and fullName to their column index, -1 if absent
+    private int[] parseHeader(String text) {
+        // spreadsheet exports often start with a byte order mark
+        List<String> names = splitCsv(text.startsWith("\uFEFF") ? text.substring(1) : text);
+        if (names == null) {
+            throw new InvalidImportException("Malformed CSV header on line " + line);
+        }
+        int[] indexes = {-1, -1, -1, -1};
+        for (int i = 0; i < names.size(); i++) {
+            switch (names.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "username" -> indexes[0] = i;
+                case "email" -> indexes[1] = i;
+                case "password" -> indexes[2] = i;
+                case "fullname", "full_name" -> indexes[3] = i;
+                default -> {
+                }
+            }
+        }
+        if (indexes[0] < 0 || indexes[1] < 0 || indexes[2] < 0) {
+            throw new InvalidImportException("CSV header must name the columns username, email and password");
+        }
+        return indexes;
+    }
+
+    private Row parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields == null) {
+            return new Row(line, null, "Malformed CSV: unterminated quoted field");
+        }
+        RegisterRequestDTO request = RegisterRequestDTO.builder()
+                .username(field(fields, columns[0]))
+                .email(field(fields, columns[1]))
+                .password(field(fields, columns[2]))
+                .fullName(field(fields, columns[3]))
+                .build();
+        return new Row(line, request, null);
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    /**
+     * Split one CSV line into its fields
+     *
+     * @return fields, or null if a quoted field is not terminated
+     */
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,63 @@
+package com.user.service.userservice.util;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been checked
+ * Produced once per token by {@link JwtUtil#verifyToken(String)}
+ */
+@Value
+@Builder
+public class VerifiedToken {
+
+    /**
+     * Token ID (jti claim), null for tokens issued before IDs were added
+     */
+    String tokenId;
+
+    /**
+     * Token subject (username)
+     */
+    String subject;
+
+    /**
+     * User ID claim
+     */
+    Long userId;
+
+    /**
+     * User email claim
+     */
+    String email;
+
+    /**
+     * Authorities from the roles claim, shared between all tokens with the same roles
+     */
+    @Builder.Default
+    Set<GrantedAuthority> authorities = Set.of();
+
+    /**
+     * Token expiration time
+     */
+    Instant expiresAt;
+
+    /**
+     * Token issue time
+     */
+    Instant issuedAt;
+
+    /**
+     * Check whether the token has expired since it was verified
+     *
+     * @param now current time
+     * @return true if expired
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
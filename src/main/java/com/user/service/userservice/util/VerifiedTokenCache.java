@@ -0,0 +1,138 @@
+package com.user.service.userservice.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already verified JWTs
+ * Entries are keyed by a SHA-256 digest of the raw token, never outlive the token's own expiry
+ * and are evicted by Caffeine's W-TinyLFU policy once the size cap is reached.
+ * The cache's ticker reads the same clock that expiry times are computed from, since token expiry is wall-clock time.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+    private volatile long keyGeneration;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtUtil, maximumSize, Clock.systemUTC());
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    VerifiedTokenCache(JwtUtil jwtUtil, long maximumSize, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(clock))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build();
+        log.info("Verified token cache initialized with maximum size {}", maximumSize);
+    }
+
+    /**
+     * Verify a token, reusing the result of an earlier verification of the same token
+     * Invalid tokens are never cached, so every failure is re-checked against the signature.
+     * All entries are dropped when the signing key changes.
+     *
+     * @param token JWT token
+     * @return verified token claims
+     * @throws io.jsonwebtoken.JwtException if the token is not valid
+     */
+    public VerifiedToken verify(String token) {
+        long currentGeneration = jwtUtil.getKeyGeneration();
+        if (currentGeneration != keyGeneration) {
+            log.info("JWT signing key changed, dropping {} cached tokens", cache.estimatedSize());
+            cache.invalidateAll();
+            keyGeneration = currentGeneration;
+        }
+        return cache.get(digest(token), key -> jwtUtil.verifyToken(token));
+    }
+
+    /**
+     * Get hit, miss and eviction counters for tuning the cache size
+     *
+     * @return cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Get the approximate number of cached tokens
+     *
+     * @return cached token count
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Expires each entry at its token's {@code exp}; reads and updates never extend it
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final Clock clock;
+
+        private TokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.getExpiresAt() == null) {
+                return 0;
+            }
+            Duration remaining = Duration.between(clock.instant(), token.getExpiresAt());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
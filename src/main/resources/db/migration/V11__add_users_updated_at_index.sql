@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY idx_users_updated_at ON users (updated_at, id);
@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY idx_users_full_name_trgm ON users USING gin (lower(full_name) gin_trgm_ops);
@@ -0,0 +1,8 @@
+ALTER TABLE refresh_tokens ADD COLUMN family_issued_at TIMESTAMP;
+
+-- used tokens are kept until they expire, so the oldest surviving token of a family dates it closely enough
+UPDATE refresh_tokens r SET family_issued_at = f.issued_at
+FROM (SELECT family_id, min(created_at) AS issued_at FROM refresh_tokens GROUP BY family_id) f
+WHERE r.family_id = f.family_id;
+
+ALTER TABLE refresh_tokens ALTER COLUMN family_issued_at SET NOT NULL;
@@ -0,0 +1,13 @@
+-- GiST trigram indexes answer both the LIKE filter and ORDER BY lower(...) <-> term, so a search reads
+-- only the nearest matches up to its limit; GIN indexes can only filter
+CREATE INDEX CONCURRENTLY idx_users_username_trgm_gist ON users USING gist (lower(username) gist_trgm_ops);
+DROP INDEX CONCURRENTLY idx_users_username_trgm;
+ALTER INDEX idx_users_username_trgm_gist RENAME TO idx_users_username_trgm;
+
+CREATE INDEX CONCURRENTLY idx_users_email_trgm_gist ON users USING gist (lower(email) gist_trgm_ops);
+DROP INDEX CONCURRENTLY idx_users_email_trgm;
+ALTER INDEX idx_users_email_trgm_gist RENAME TO idx_users_email_trgm;
+
+CREATE INDEX CONCURRENTLY idx_users_full_name_trgm_gist ON users USING gist (lower(full_name) gist_trgm_ops);
+DROP INDEX CONCURRENTLY idx_users_full_name_trgm;
+ALTER INDEX idx_users_full_name_trgm_gist RENAME TO idx_users_full_name_trgm;
@@ -0,0 +1,9 @@
+CREATE TABLE revoked_tokens (
+                                jti VARCHAR(36) PRIMARY KEY,
+                                user_id BIGINT,
+                                expires_at TIMESTAMP NOT NULL,
+                                revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
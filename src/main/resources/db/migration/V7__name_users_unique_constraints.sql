@@ -0,0 +1,2 @@
+ALTER TABLE users RENAME CONSTRAINT users_username_key TO uk_users_username;
+ALTER TABLE users RENAME CONSTRAINT users_email_key TO uk_users_email;
@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_username_lower ON users (lower(username));
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_email_lower ON users (lower(email));
@@ -0,0 +1,8 @@
+-- build the covering index next to the old one, so lookups and the uniqueness check never go without an index
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_email_lower_covering ON users (lower(email)) INCLUDE (password, full_name);
+DROP INDEX CONCURRENTLY uk_users_email_lower;
+ALTER INDEX uk_users_email_lower_covering RENAME TO uk_users_email_lower;
+
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_username_lower_covering ON users (lower(username)) INCLUDE (password, full_name);
+DROP INDEX CONCURRENTLY uk_users_username_lower;
+ALTER INDEX uk_users_username_lower_covering RENAME TO uk_users_username_lower;
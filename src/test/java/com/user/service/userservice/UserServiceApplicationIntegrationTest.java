@@ -202,6 +202,16 @@ class UserServiceApplicationIntegrationTest {
         assertThat(healthResponse.getStatusCode()).isIn(HttpStatus.OK, HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    @DisplayName("Should require authentication for actuator endpoints other than health")
+    void shouldRequireAuthenticationForActuatorMetrics() {
+        String metricsUrl = "http://localhost:" + port + "/actuator/metrics";
+
+        ResponseEntity<String> metricsResponse = restTemplate.getForEntity(metricsUrl, String.class);
+
+        assertThat(metricsResponse.getStatusCode()).isIn(HttpStatus.UNAUTHORIZED, HttpStatus.FORBIDDEN);
+    }
+
     @Test
     @DisplayName("Should handle invalid endpoint requests")
     void shouldHandleInvalidEndpointRequests() {
@@ -0,0 +1,56 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.util.BloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of the revocation check for a token that was never revoked,
+ * against a filter holding the default capacity of 100,000 revoked token IDs.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BloomFilterBenchmark {
+
+    private BloomFilter filter;
+    private String tokenId;
+
+    @Setup
+    public void setUp() {
+        filter = BloomFilter.create(100000, 0.001);
+        for (int i = 0; i < 100000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+        tokenId = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean mightContain() {
+        return filter.mightContain(tokenId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BloomFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
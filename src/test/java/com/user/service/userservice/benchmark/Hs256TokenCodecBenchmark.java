@@ -0,0 +1,83 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the HS256 fast path against jjwt for issuing and verifying tokens.
+ * Runs with the GC profiler so that "gc.alloc.rate.norm" reports bytes allocated per operation.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Hs256TokenCodecBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyOf32BytesLong!";
+    private static final long EXPIRATION = 86400000L;
+
+    private JwtUtil jjwt;
+    private JwtUtil fastPath;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jjwt = newJwtUtil(false);
+        fastPath = newJwtUtil(true);
+        token = jjwt.generateToken(1L, "testuser", "test@example.com");
+    }
+
+    @Benchmark
+    public String issueJjwt() {
+        return jjwt.generateToken(1L, "testuser", "test@example.com");
+    }
+
+    @Benchmark
+    public String issueFastPath() {
+        return fastPath.generateToken(1L, "testuser", "test@example.com");
+    }
+
+    @Benchmark
+    public Object verifyJjwt() {
+        return jjwt.verifyToken(token);
+    }
+
+    @Benchmark
+    public Object verifyFastPath() {
+        return fastPath.verifyToken(token);
+    }
+
+    private static JwtUtil newJwtUtil(boolean fastPathEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", fastPathEnabled);
+        return jwtUtil;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(Hs256TokenCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of JwtUtil against the previous per-call key derivation.
+ * The "perCall" benchmarks reproduce the old code path: a new SecretKey for every
+ * sign and a new SecretKey plus parser for every parse.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ * Add "-prof gc" (via {@code OptionsBuilder.addProfiler}) to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "mySecretKeyForTestingPurposesOnlyThisShouldBeLongEnough";
+    private static final long EXPIRATION = 86400000L;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+    }
+
+    @Benchmark
+    public String signShared() {
+        return jwtUtil.generateToken(1L, "testuser", "test@example.com");
+    }
+
+    @Benchmark
+    public String signPerCall() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 1L);
+        claims.put("username", "testuser");
+        claims.put("email", "test@example.com");
+        Date now = new Date();
+        return Jwts.builder()
+                .claims(claims)
+                .subject("testuser")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+    }
+
+    @Benchmark
+    public String parseShared() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public String parsePerCall() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
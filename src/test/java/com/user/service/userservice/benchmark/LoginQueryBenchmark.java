@@ -0,0 +1,101 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the login lookup as a managed entity and as a projection.
+ * "entity" is the previous login path: the full User with its roles is hydrated and registered in a
+ * persistence context. "projection" reads only the login columns with one probe of the lower(email) index
+ * and nothing is hydrated. Both look up a random one of {@code rows} users.
+ * Needs PostgreSQL, see {@link PostgresBenchmarkContext}. Seeding 10M rows takes a few minutes and is
+ * skipped when the table already holds enough users.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LoginQueryBenchmark {
+
+    private static final int SEED_BATCH = 1_000_000;
+
+    @Param({"10000000"})
+    private int rows;
+
+    private PostgresBenchmarkContext context;
+    private UserRepository userRepository;
+
+    @Setup
+    public void setUp() {
+        context = PostgresBenchmarkContext.start();
+        userRepository = context.getBean(UserRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User entity() {
+        return userRepository.findByEmailOrUsername(randomEmail());
+    }
+
+    @Benchmark
+    public User projection() {
+        return userRepository.findForLogin(randomEmail());
+    }
+
+    private String randomEmail() {
+        return "user" + ThreadLocalRandom.current().nextInt(1, rows + 1) + "@example.com";
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+        if (existing != null && existing >= rows) {
+            return;
+        }
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+        for (int from = 1; from <= rows; from += SEED_BATCH) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (username, email, password, full_name, created_at, updated_at)
+                    SELECT 'user' || i, 'user' || i || '@example.com',
+                           '{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOHiA6fC6xA7N1dWQkYfKjGQyfZ9pDjbm', 'User ' || i, now(), now()
+                    FROM generate_series(?, ?) AS i
+                    """, from, Math.min(rows, from + SEED_BATCH - 1));
+        }
+        // refreshes planner statistics after the bulk insert
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginQueryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.config.PasswordEncoderConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the supported password hashing algorithms and parameters.
+ * Each configuration is built through {@link PasswordEncoderConfig}, so hashes carry the same prefix tags
+ * as in production. Throughput is hashes per second on one thread; with the GC profiler,
+ * "gc.alloc.rate.norm" is the heap allocated per hash, which for Argon2id and scrypt is dominated by
+ * their memory cost.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    /**
+     * Algorithm id and its cost parameters, colon-separated:
+     * bcrypt:strength, argon2id:memoryKiB:iterations:parallelism, scrypt:N:r:p, pbkdf2:iterations
+     */
+    @Param({
+            "bcrypt:10", "bcrypt:12",
+            "argon2id:19456:2:1", "argon2id:65536:3:1",
+            "scrypt:16384:8:1", "scrypt:65536:8:1",
+            "pbkdf2:310000", "pbkdf2:600000"
+    })
+    private String configuration;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = configuration.split(":");
+        PasswordEncoderConfig config = new PasswordEncoderConfig();
+        ReflectionTestUtils.setField(config, "encoderId", parts[0]);
+        ReflectionTestUtils.setField(config, "bcryptStrength", 10);
+        switch (parts[0]) {
+            case PasswordEncoderConfig.BCRYPT -> ReflectionTestUtils.setField(config, "bcryptStrength", Integer.parseInt(parts[1]));
+            case PasswordEncoderConfig.ARGON2ID -> {
+                ReflectionTestUtils.setField(config, "argon2Memory", Integer.parseInt(parts[1]));
+                ReflectionTestUtils.setField(config, "argon2Iterations", Integer.parseInt(parts[2]));
+                ReflectionTestUtils.setField(config, "argon2Parallelism", Integer.parseInt(parts[3]));
+            }
+            case PasswordEncoderConfig.SCRYPT -> {
+                ReflectionTestUtils.setField(config, "scryptCpuCost", Integer.parseInt(parts[1]));
+                ReflectionTestUtils.setField(config, "scryptMemoryCost", Integer.parseInt(parts[2]));
+                ReflectionTestUtils.setField(config, "scryptParallelism", Integer.parseInt(parts[3]));
+            }
+            case PasswordEncoderConfig.PBKDF2 -> ReflectionTestUtils.setField(config, "pbkdf2Iterations", Integer.parseInt(parts[1]));
+            default -> throw new IllegalArgumentException("Unknown configuration " + configuration);
+        }
+        encoder = config.passwordEncoder();
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.UserServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Application context on PostgreSQL for the database benchmarks.
+ * Uses the database named by -Dbenchmark.jdbc.url (plus .username and .password) if set, otherwise starts
+ * a container. The schema is created by the application's Flyway migrations.
+ */
+final class PostgresBenchmarkContext implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+
+    private PostgresBenchmarkContext(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static PostgresBenchmarkContext start() {
+        String url = System.getProperty("benchmark.jdbc.url");
+        String username = System.getProperty("benchmark.jdbc.username", "postgres");
+        String password = System.getProperty("benchmark.jdbc.password", "");
+        PostgreSQLContainer<?> postgres = null;
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgres.start();
+            url = postgres.getJdbcUrl() + "&reWriteBatchedInserts=true";
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + username,
+                        "spring.datasource.password=" + password,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.user.service.userservice=WARN")
+                .run();
+        return new PostgresBenchmarkContext(postgres, context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
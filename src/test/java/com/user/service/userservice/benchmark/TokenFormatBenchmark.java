@@ -0,0 +1,88 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.util.TokenFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the standard and compact token formats.
+ * Setup prints the Authorization header size of each format; the benchmarks measure parse time
+ * on the jjwt path and on the HS256 fast path.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenFormatBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyOf32BytesLong!";
+    private static final long EXPIRATION = 900000L;
+
+    @Param({"STANDARD", "COMPACT"})
+    private TokenFormat format;
+
+    @Param({"true", "false"})
+    private boolean includeEmail;
+
+    private JwtUtil jjwt;
+    private JwtUtil fastPath;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jjwt = newJwtUtil(false);
+        fastPath = newJwtUtil(true);
+        token = fastPath.generateToken(1234567L, "john.doe", "john.doe@example.com", List.of("STUDENT"));
+        System.out.printf("%n%s (include-email=%s): Authorization header %d bytes%n",
+                format, includeEmail, ("Bearer " + token).length());
+    }
+
+    @Benchmark
+    public Object parseJjwt() {
+        return jjwt.verifyToken(token);
+    }
+
+    @Benchmark
+    public Object parseFastPath() {
+        return fastPath.verifyToken(token);
+    }
+
+    private JwtUtil newJwtUtil(boolean fastPathEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", fastPathEnabled);
+        ReflectionTestUtils.setField(jwtUtil, "tokenFormat", format);
+        ReflectionTestUtils.setField(jwtUtil, "compactIncludeEmail", includeEmail);
+        return jwtUtil;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+package com.user.service.userservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.UserExportRow;
+import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.UserExportService;
+import com.user.service.userservice.util.UserDataFormat;
+import com.user.service.userservice.util.UserExportWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of exporting the users table as NDJSON through a cursor and through findAll.
+ * "stream" is the export endpoint's path: rows are fetched user.export.fetch-size at a time and written as
+ * they arrive. "findAll" loads every user as a managed entity before writing the first line. Both write to a
+ * discarding writer. The fork runs with a 256 MB heap: "stream" completes at every table size, while
+ * "findAll" runs out of memory once the table no longer fits.
+ * Needs PostgreSQL, see {@link PostgresBenchmarkContext}.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class UserExportBenchmark {
+
+    private static final int SEED_BATCH = 1_000_000;
+
+    @Param({"100000", "1000000", "5000000"})
+    private int rows;
+
+    private PostgresBenchmarkContext context;
+    private UserRepository userRepository;
+    private UserExportService userExportService;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = PostgresBenchmarkContext.start();
+        userRepository = context.getBean(UserRepository.class);
+        userExportService = context.getBean(UserExportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long stream() {
+        return userExportService.exportUsers(Writer.nullWriter(), UserDataFormat.NDJSON, null, null);
+    }
+
+    @Benchmark
+    public long findAll() {
+        return transactionTemplate.execute(status -> {
+            UserExportWriter writer = new UserExportWriter(Writer.nullWriter(), UserDataFormat.NDJSON, objectMapper);
+            long count = 0;
+            for (User user : userRepository.findAll()) {
+                writer.write(new UserExportRow(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(),
+                        user.getCreatedAt(), user.getUpdatedAt()));
+                count++;
+            }
+            writer.finish();
+            return count;
+        });
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+        for (int from = 1; from <= rows; from += SEED_BATCH) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (username, email, password, full_name, created_at, updated_at)
+                    SELECT 'user' || i, 'user' || i || '@example.com',
+                           '{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOHiA6fC6xA7N1dWQkYfKjGQyfZ9pDjbm', 'User ' || i,
+                           now() - i * interval '1 second', now() - i * interval '1 second'
+                    FROM generate_series(?, ?) AS i
+                    """, from, Math.min(rows, from + SEED_BATCH - 1));
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserExportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH comparison of inserting a batch of users with identity and with pooled sequence ids.
+ * "identity" issues the statements Hibernate sends for an IDENTITY id: one INSERT ... RETURNING id round
+ * trip per user, since the id is only known after the row exists. "sequence" saves the same users through
+ * UserRepository, which draws ids from users_id_seq in blocks and sends the INSERTs as JDBC batches that the
+ * driver rewrites into multi-row statements. Each operation inserts {@code batchSize} users in one
+ * transaction; users per second is batchSize divided by the reported time.
+ * Needs PostgreSQL, see {@link PostgresBenchmarkContext}.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UserInsertBenchmark {
+
+    private static final String PASSWORD = "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOHiA6fC6xA7N1dWQkYfKjGQyfZ9pDjbm";
+
+    @Param({"1000", "10000"})
+    private int batchSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private PostgresBenchmarkContext context;
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = PostgresBenchmarkContext.start();
+        userRepository = context.getBean(UserRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long identity() {
+        List<User> users = newUsers();
+        return transactionTemplate.execute(status -> {
+            long lastId = 0;
+            for (User user : users) {
+                lastId = jdbcTemplate.queryForObject("""
+                        INSERT INTO users (username, email, password, full_name, created_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?) RETURNING id
+                        """, Long.class, user.getUsername(), user.getEmail(), user.getPassword(), user.getFullName(),
+                        user.getCreatedAt(), user.getUpdatedAt());
+            }
+            return lastId;
+        });
+    }
+
+    @Benchmark
+    public long sequence() {
+        List<User> users = newUsers();
+        return transactionTemplate.execute(status -> userRepository.saveAll(users).get(users.size() - 1).getId());
+    }
+
+    private List<User> newUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            long n = sequence.incrementAndGet();
+            users.add(User.builder()
+                    .username("bench" + n)
+                    .email("bench" + n + "@example.com")
+                    .password(PASSWORD)
+                    .fullName("Bench User " + n)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return users;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
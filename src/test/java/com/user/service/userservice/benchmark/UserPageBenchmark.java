@@ -0,0 +1,115 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.dto.response.UserPageResponseDTO;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.UserAdminService;
+import com.user.service.userservice.util.PageCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of reading page {@code page} of the admin user listing with keyset and with offset pagination.
+ * "keyset" is the listing endpoint's path: it seeks to the cursor left by the previous page in the
+ * (created_at, id) index. "offset" is a Spring Data {@code Pageable} read of the same page, which skips
+ * {@code page * 50} rows and counts the table for the page metadata. Pages hold 50 users of {@code rows}, and
+ * seeding is skipped when the table already holds enough users.
+ * Needs PostgreSQL, see {@link PostgresBenchmarkContext}.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UserPageBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int SEED_BATCH = 1_000_000;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"1", "100", "10000"})
+    private int page;
+
+    private PostgresBenchmarkContext context;
+    private UserRepository userRepository;
+    private UserAdminService userAdminService;
+    private PageCursor cursor;
+
+    @Setup
+    public void setUp() {
+        context = PostgresBenchmarkContext.start();
+        userRepository = context.getBean(UserRepository.class);
+        userAdminService = context.getBean(UserAdminService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        // the cursor a client holds after reading the previous page
+        cursor = jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM users ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1",
+                (rs, rowNum) -> new PageCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                page * PAGE_SIZE - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPageResponseDTO keyset() {
+        return userAdminService.listUsers(cursor, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<User> offset() {
+        return userRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+        if (existing != null && existing >= rows) {
+            return;
+        }
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+        for (int from = 1; from <= rows; from += SEED_BATCH) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (username, email, password, full_name, created_at, updated_at)
+                    SELECT 'user' || i, 'user' || i || '@example.com',
+                           '{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOHiA6fC6xA7N1dWQkYfKjGQyfZ9pDjbm', 'User ' || i,
+                           now() - i * interval '1 second', now() - i * interval '1 second'
+                    FROM generate_series(?, ?) AS i
+                    """, from, Math.min(rows, from + SEED_BATCH - 1));
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserPageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
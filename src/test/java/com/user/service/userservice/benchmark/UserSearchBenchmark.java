@@ -0,0 +1,118 @@
+package com.user.service.userservice.benchmark;
+
+import com.user.service.userservice.dto.response.UserSummaryDTO;
+import com.user.service.userservice.service.UserAdminService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of the admin user search over a table of {@code rows} users.
+ * Usernames, emails and full names end in fragments of md5 hashes of the row number, so a term matches
+ * through any of the columns: "4f3c2" matches a few dozen users at five million, "8e1d" a few hundred per
+ * million, and "example" matches every email. "trigram" is the search endpoint's path through the trigram
+ * indexes; "seqScan" is the same search with index and bitmap scans disabled, as it runs without the V13 and
+ * V15 migrations. Searches should stay below 50 ms on the trigram indexes at five million users, also for
+ * "example", whose nearest matches are read from the index without sorting the rest. The search timeout is
+ * raised so that "seqScan" can finish.
+ * Needs PostgreSQL, see {@link PostgresBenchmarkContext}.
+ * Run with: mvn test-compile, then execute {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    private static final int SEED_BATCH = 1_000_000;
+
+    @Param({"1000000", "5000000"})
+    private int rows;
+
+    @Param({"4f3c2", "8e1d", "example"})
+    private String term;
+
+    private PostgresBenchmarkContext context;
+    private UserAdminService userAdminService;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("user.search.timeout", "1m");
+        context = PostgresBenchmarkContext.start();
+        userAdminService = context.getBean(UserAdminService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserSummaryDTO> trigram() {
+        return userAdminService.searchUsers(term, 20);
+    }
+
+    @Benchmark
+    public List<UserSummaryDTO> seqScan() {
+        // the search joins this transaction, so it runs on the connection the setting is local to
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            return userAdminService.searchUsers(term, 20);
+        });
+    }
+
+    private void seed() {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+        for (int from = 1; from <= rows; from += SEED_BATCH) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (username, email, password, full_name, created_at, updated_at)
+                    SELECT 'user_' || substr(md5(i::text), 1, 10), substr(md5(i::text), 11, 10) || '@example.com',
+                           '{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOHiA6fC6xA7N1dWQkYfKjGQyfZ9pDjbm',
+                           (ARRAY['John', 'Maria', 'Wei', 'Aisha', 'Lars'])[1 + i % 5] || ' '
+                               || (ARRAY['Smith', 'Garcia', 'Chen', 'Okafor'])[1 + i % 4] || ' ' || substr(md5(i::text), 21, 6),
+                           now(), now()
+                    FROM generate_series(?, ?) AS i
+                    """, from, Math.min(rows, from + SEED_BATCH - 1));
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSearchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
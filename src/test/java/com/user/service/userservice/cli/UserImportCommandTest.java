@@ -0,0 +1,76 @@
+package com.user.service.userservice.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO.Result;
+import com.user.service.userservice.dto.response.BulkImportResponseDTO.Status;
+import com.user.service.userservice.service.UserImportService;
+import com.user.service.userservice.util.UserDataFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserImportCommand
+ * Tests the import mode switch, the written report and the exit code
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Import Command Tests")
+class UserImportCommandTest {
+
+    @Mock
+    private UserImportService userImportService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should recognize the import option on the command line")
+    void shouldRecognizeImportOption() {
+        assertThat(UserImportCommand.isImport(new String[]{"--user.import.file=users.csv"})).isTrue();
+        assertThat(UserImportCommand.isImport(new String[]{"--server.port=8082"})).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should write the report and exit with 0 when every row was created")
+    void shouldWriteReportAndSucceed() throws Exception {
+        Path file = Files.writeString(directory.resolve("users.ndjson"), "{}\n");
+        Path report = directory.resolve("report.json");
+        when(userImportService.importUsers(any(), eq(UserDataFormat.NDJSON)))
+                .thenReturn(BulkImportResponseDTO.of(List.of(Result.created(1, "alice", 1L))));
+
+        UserImportCommand command = new UserImportCommand(userImportService, new ObjectMapper(), file, report.toString());
+        command.run(new DefaultApplicationArguments());
+
+        assertThat(command.getExitCode()).isZero();
+        assertThat(new ObjectMapper().readTree(report.toFile()).get("created").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should exit with 1 when a row was not created")
+    void shouldFailWhenRowRejected() throws Exception {
+        Path file = Files.writeString(directory.resolve("users.csv"), "username,email,password\n");
+        when(userImportService.importUsers(any(), eq(UserDataFormat.CSV)))
+                .thenReturn(BulkImportResponseDTO.of(List.of(
+                        Result.created(2, "alice", 1L),
+                        Result.rejected(3, "bob", Status.CONFLICT, "Username 'bob' already exists"))));
+
+        UserImportCommand command = new UserImportCommand(userImportService, new ObjectMapper(), file, "");
+        command.run(new DefaultApplicationArguments());
+
+        assertThat(command.getExitCode()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.user.service.userservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PasswordEncoderConfig
+ * Tests prefix-tagged hashing with every algorithm and verification of untagged legacy BCrypt hashes
+ */
+@DisplayName("Password Encoder Config Tests")
+class PasswordEncoderConfigTest {
+
+    private PasswordEncoderConfig config;
+
+    @BeforeEach
+    void setUp() {
+        // cheap parameters, the tests check wiring rather than cost
+        config = new PasswordEncoderConfig();
+        ReflectionTestUtils.setField(config, "bcryptStrength", 4);
+        ReflectionTestUtils.setField(config, "argon2Memory", 1024);
+        ReflectionTestUtils.setField(config, "argon2Iterations", 1);
+        ReflectionTestUtils.setField(config, "scryptCpuCost", 1024);
+        ReflectionTestUtils.setField(config, "pbkdf2Iterations", 1000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bcrypt", "argon2id", "scrypt", "pbkdf2"})
+    @DisplayName("Should hash with the configured algorithm and tag the hash")
+    void shouldHashWithConfiguredAlgorithm(String encoderId) {
+        ReflectionTestUtils.setField(config, "encoderId", encoderId);
+        PasswordEncoder encoder = config.passwordEncoder();
+
+        String hash = encoder.encode("password123");
+
+        assertThat(hash).startsWith("{" + encoderId + "}");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrongpassword", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should verify hashes of other algorithms and flag them for re-encoding")
+    void shouldVerifyHashesOfOtherAlgorithms() {
+        String bcryptHash = config.passwordEncoder().encode("password123");
+        ReflectionTestUtils.setField(config, "encoderId", "argon2id");
+        PasswordEncoder encoder = config.passwordEncoder();
+
+        assertThat(encoder.matches("password123", bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcryptHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should verify untagged legacy BCrypt hashes")
+    void shouldVerifyUntaggedLegacyBCryptHashes() {
+        PasswordEncoder encoder = config.passwordEncoder();
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+
+        assertThat(encoder.matches("password123", legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown algorithm")
+    void shouldRejectUnknownAlgorithm() {
+        ReflectionTestUtils.setField(config, "encoderId", "md5");
+
+        assertThatThrownBy(() -> config.passwordEncoder())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("md5");
+    }
+}
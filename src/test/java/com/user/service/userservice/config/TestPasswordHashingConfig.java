@@ -0,0 +1,20 @@
+package com.user.service.userservice.config;
+
+import com.user.service.userservice.util.PasswordHashingExecutor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Test password hashing configuration
+ * Runs hashing tasks on the calling thread so they join the test's transaction
+ */
+@TestConfiguration
+public class TestPasswordHashingConfig {
+
+    @Bean
+    @Primary
+    public PasswordHashingExecutor testPasswordHashingExecutor() {
+        return new PasswordHashingExecutor(Runnable::run, 1);
+    }
+}
@@ -1,6 +1,9 @@
 package com.user.service.userservice.config;
 
 import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -58,4 +61,10 @@ public class TestSecurityConfig {
         }
         return jwtUtil;
     }
+
+    @Bean
+    @Primary
+    public VerifiedTokenCache testVerifiedTokenCache(JwtUtil testJwtUtil, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VerifiedTokenCache(testJwtUtil, 1000, meterRegistry);
+    }
 }
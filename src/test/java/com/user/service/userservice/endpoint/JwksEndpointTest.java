@@ -0,0 +1,62 @@
+package com.user.service.userservice.endpoint;
+
+import com.user.service.userservice.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for JwksEndpoint
+ * Tests the published key set and its HTTP caching headers
+ */
+@DisplayName("JWKS Endpoint Tests")
+class JwksEndpointTest {
+
+    private JwtUtil jwtUtil;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKeyForTestingPurposesOnlyThisShouldBeLongEnough");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", "ES256");
+        ReflectionTestUtils.setField(jwtUtil, "ephemeralKeysEnabled", true);
+
+        JwksEndpoint jwksEndpoint = new JwksEndpoint(jwtUtil);
+        ReflectionTestUtils.setField(jwksEndpoint, "maxAgeSeconds", 300L);
+        mockMvc = MockMvcBuilders.standaloneSetup(jwksEndpoint).build();
+    }
+
+    @Test
+    @DisplayName("Should publish public keys with Cache-Control and ETag")
+    void shouldPublishPublicKeysWithCachingHeaders() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(header().string("ETag", jwtUtil.getPublicJwkSet().getEtag()))
+                .andExpect(jsonPath("$.keys", hasSize(1)))
+                .andExpect(jsonPath("$.keys[0].kty", is("EC")))
+                .andExpect(jsonPath("$.keys[0].use", is("sig")));
+    }
+
+    @Test
+    @DisplayName("Should return 304 when client ETag matches")
+    void shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        String etag = jwtUtil.getPublicJwkSet().getEtag();
+
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+}
@@ -0,0 +1,243 @@
+package com.user.service.userservice.endpoint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.entity.Role;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.RoleRepository;
+import com.user.service.userservice.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for UserAdminEndpoint
+ * Tests user exports, the paginated listing and search against the database
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("User Admin Endpoint Integration Tests")
+class UserAdminEndpointIntegrationTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 15, 10, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2025, 2, 15, 10, 0);
+    private static final LocalDateTime MARCH = LocalDateTime.of(2025, 3, 15, 10, 0);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        userRepository.deleteAll();
+        saveUser("carol", "carol@example.com", "Carol", MARCH);
+        saveUser("alice", "alice@example.com", "Smith, Alice", JANUARY);
+        saveUser("bob", "bob@example.com", null, FEBRUARY);
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should export all users as NDJSON ordered by update time, without password hashes")
+    void shouldExportNdjson() throws Exception {
+        String body = mockMvc.perform(get("/api/user/admin/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"username\":\"alice\"", "\"updatedAt\":\"2025-01-15T10:00:00\"");
+        assertThat(lines[1]).contains("\"username\":\"bob\"");
+        assertThat(lines[2]).contains("\"username\":\"carol\"");
+        assertThat(body).doesNotContain("password");
+    }
+
+    @Test
+    @DisplayName("Should export users as CSV with a header and quoted fields")
+    void shouldExportCsv() throws Exception {
+        String body = mockMvc.perform(get("/api/user/admin/users/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("id,username,email,fullName,createdAt,updatedAt");
+        assertThat(lines[1]).contains(",alice,alice@example.com,\"Smith, Alice\",").endsWith(",2025-01-15T10:00");
+        assertThat(lines[2]).contains(",bob,bob@example.com,,");
+    }
+
+    @Test
+    @DisplayName("Should export only users updated within the requested range")
+    void shouldExportUpdatedRange() throws Exception {
+        String body = mockMvc.perform(get("/api/user/admin/users/export")
+                        .param("updatedFrom", "2025-02-15T10:00:00")
+                        .param("updatedTo", "2025-03-15T10:00:00"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n")).singleElement().asString().contains("\"username\":\"bob\"");
+    }
+
+    @Test
+    @DisplayName("Should export only the CSV header when no user matches")
+    void shouldExportCsvHeaderOnly() throws Exception {
+        String body = mockMvc.perform(get("/api/user/admin/users/export")
+                        .param("format", "CSV")
+                        .param("updatedFrom", "2026-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).isEqualTo("id,username,email,fullName,createdAt,updatedAt\n");
+    }
+
+    @Test
+    @DisplayName("Should page through users newest first with cursors")
+    void shouldPageThroughUsersWithCursors() throws Exception {
+        saveUser("dave", "dave@example.com", "Dave", MARCH);
+        entityManager.clear();
+
+        String first = mockMvc.perform(get("/api/user/admin/users").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(2)))
+                .andExpect(jsonPath("$.users[0].username", is("dave")))
+                .andExpect(jsonPath("$.users[1].username", is("carol")))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/user/admin/users")
+                        .param("size", "2")
+                        .param("cursor", objectMapper.readTree(first).get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(2)))
+                .andExpect(jsonPath("$.users[0].username", is("bob")))
+                .andExpect(jsonPath("$.users[1].username", is("alice")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should filter the listing by role and by lock state")
+    void shouldFilterListing() throws Exception {
+        Role teacher = roleRepository.save(Role.of("TEACHER"));
+        User bob = userRepository.findByUsername("bob");
+        bob.getRoles().add(teacher);
+        User carol = userRepository.findByUsername("carol");
+        carol.setLockedUntil(LocalDateTime.now().plusMinutes(10));
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/user/admin/users").param("role", "TEACHER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(1)))
+                .andExpect(jsonPath("$.users[0].username", is("bob")))
+                .andExpect(jsonPath("$.users[0].roles[0]", is("TEACHER")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/user/admin/users").param("locked", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(1)))
+                .andExpect(jsonPath("$.users[0].username", is("carol")));
+
+        mockMvc.perform(get("/api/user/admin/users").param("locked", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(2)));
+    }
+
+    @Test
+    @DisplayName("Should search username, email and full name ignoring case, exact matches first")
+    void shouldSearchUsers() throws Exception {
+        saveUser("malice", "m@example.org", null, JANUARY);
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", " ALICE "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].username", is("alice")))
+                .andExpect(jsonPath("$[1].username", is("malice")))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", "smith"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].username", is("alice")));
+
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", "example.com").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in the search term literally")
+    void shouldSearchWildcardsLiterally() throws Exception {
+        saveUser("al_ce", "al_ce@example.com", null, JANUARY);
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", "l_c"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].username", is("al_ce")));
+
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", "%%%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    @DisplayName("Should reject a search term shorter than three characters")
+    void shouldRejectShortSearchTerm() throws Exception {
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", " al "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid Search")))
+                .andExpect(jsonPath("$.message", is("Search term must have at least 3 characters")));
+    }
+
+    private void saveUser(String username, String email, String fullName, LocalDateTime updatedAt) {
+        User user = userRepository.saveAndFlush(User.builder()
+                .username(username)
+                .email(email)
+                .password("encodedPassword")
+                .fullName(fullName)
+                .build());
+        // the timestamps are set on every write, so the test time is put in place behind the entity's back
+        entityManager.createQuery("UPDATE User u SET u.createdAt = :time, u.updatedAt = :time WHERE u.id = :id")
+                .setParameter("time", updatedAt)
+                .setParameter("id", user.getId())
+                .executeUpdate();
+    }
+}
@@ -1,33 +1,50 @@
 package com.user.service.userservice.endpoint;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.config.TestPasswordHashingConfig;
 import com.user.service.userservice.dto.request.LoginRequestDTO;
+import com.user.service.userservice.dto.request.RefreshTokenRequestDTO;
 import com.user.service.userservice.dto.request.RegisterRequestDTO;
+import com.user.service.userservice.dto.request.TokenIntrospectionRequestDTO;
+import com.user.service.userservice.entity.Role;
 import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.RoleRepository;
 import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.util.JwtUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -37,6 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureWebMvc
 @ActiveProfiles("test")
+@Import(TestPasswordHashingConfig.class)
 @Transactional
 @DisplayName("User Endpoint Integration Tests")
 class UserEndpointIntegrationTest {
@@ -53,6 +71,18 @@ class UserEndpointIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -71,7 +101,7 @@ class UserEndpointIntegrationTest {
                 .fullName("Test User")
                 .build();
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isCreated())
@@ -103,6 +133,22 @@ class UserEndpointIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Should return bad request when username contains '@'")
+    void shouldReturnBadRequestWhenUsernameContainsAt() throws Exception {
+        RegisterRequestDTO invalidRequest = RegisterRequestDTO.builder()
+                .username("test@user")
+                .email("test@example.com")
+                .password("password123")
+                .fullName("Test User")
+                .build();
+
+        mockMvc.perform(post("/api/user/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return conflict when registering user with existing username")
     void shouldReturnConflictWhenRegisteringUserWithExistingUsername() throws Exception {
@@ -123,7 +169,7 @@ class UserEndpointIntegrationTest {
                 .fullName("New User")
                 .build();
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isConflict())
@@ -150,7 +196,7 @@ class UserEndpointIntegrationTest {
                 .fullName("New User")
                 .build();
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isConflict())
@@ -175,7 +221,7 @@ class UserEndpointIntegrationTest {
                 .password("password123")
                 .build();
 
-        mockMvc.perform(post("/api/user/login")
+        performAsync(post("/api/user/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
@@ -208,7 +254,7 @@ class UserEndpointIntegrationTest {
                 .password("password123")
                 .build();
 
-        mockMvc.perform(post("/api/user/login")
+        performAsync(post("/api/user/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
@@ -217,6 +263,33 @@ class UserEndpointIntegrationTest {
                 .andExpect(jsonPath("$.username", is("testuser")));
     }
 
+    @Test
+    @DisplayName("Should re-encode password hash with a different strength at login")
+    void shouldReencodePasswordHashWithDifferentStrengthAtLogin() throws Exception {
+        userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password(new BCryptPasswordEncoder(5).encode("password123"))
+                .fullName("Test User")
+                .build());
+
+        LoginRequestDTO loginRequest = LoginRequestDTO.builder()
+                .emailOrUsername("testuser")
+                .password("password123")
+                .build();
+
+        performAsync(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        // the rehash is a bulk update, which bypasses the user managed by this test's transaction
+        entityManager.clear();
+        String storedPassword = userRepository.findByUsername("testuser").getPassword();
+        assertThat(storedPassword).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches("password123", storedPassword)).isTrue();
+    }
+
     @Test
     @DisplayName("Should return unauthorized when login with invalid credentials")
     void shouldReturnUnauthorizedWhenLoginWithInvalidCredentials() throws Exception {
@@ -235,7 +308,7 @@ class UserEndpointIntegrationTest {
                 .password("wrongpassword")
                 .build();
 
-        mockMvc.perform(post("/api/user/login")
+        performAsync(post("/api/user/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized())
@@ -250,7 +323,7 @@ class UserEndpointIntegrationTest {
                 .password("password123")
                 .build();
 
-        mockMvc.perform(post("/api/user/login")
+        performAsync(post("/api/user/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isNotFound())
@@ -306,4 +379,204 @@ class UserEndpointIntegrationTest {
         mockMvc.perform(post("/api/user/nonexistent"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("Should rotate refresh token and revoke its family on reuse")
+    void shouldRotateRefreshTokenAndRevokeFamilyOnReuse() throws Exception {
+        userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .fullName("Test User")
+                .build());
+
+        LoginRequestDTO loginRequest = LoginRequestDTO.builder()
+                .emailOrUsername("testuser")
+                .password("password123")
+                .build();
+        String loginResponse = performAsync(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String firstRefreshToken = objectMapper.readTree(loginResponse).get("refreshToken").asText();
+
+        String refreshResponse = mockMvc.perform(post("/api/user/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO(firstRefreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andExpect(jsonPath("$.username", is("testuser")))
+                .andReturn().getResponse().getContentAsString();
+        String secondRefreshToken = objectMapper.readTree(refreshResponse).get("refreshToken").asText();
+        assertThat(secondRefreshToken).isNotEqualTo(firstRefreshToken);
+
+        mockMvc.perform(post("/api/user/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO(firstRefreshToken))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error", is("Invalid Refresh Token")));
+
+        mockMvc.perform(post("/api/user/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO(secondRefreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should revoke access token on logout, repeatedly")
+    void shouldRevokeAccessTokenOnLogout() throws Exception {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.verifyToken(token))).isFalse();
+
+        mockMvc.perform(post("/api/user/logout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/user/logout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.verifyToken(token))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.verifyToken(
+                jwtUtil.generateToken(1L, "testuser", "test@example.com")))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should put user roles into the access token at login")
+    void shouldPutUserRolesIntoAccessTokenAtLogin() throws Exception {
+        Role teacher = roleRepository.save(Role.of("TEACHER"));
+        userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .fullName("Test User")
+                .roles(Set.of(teacher))
+                .build());
+
+        LoginRequestDTO loginRequest = LoginRequestDTO.builder()
+                .emailOrUsername("testuser")
+                .password("password123")
+                .build();
+        String loginResponse = performAsync(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String token = objectMapper.readTree(loginResponse).get("token").asText();
+        assertThat(jwtUtil.verifyToken(token).getAuthorities())
+                .extracting(authority -> authority.getAuthority())
+                .containsExactly("ROLE_TEACHER");
+    }
+
+    @Test
+    @DisplayName("Should introspect a batch of tokens")
+    void shouldIntrospectBatchOfTokens() throws Exception {
+        String token = jwtUtil.generateToken(7L, "testuser", "test@example.com");
+        TokenIntrospectionRequestDTO request = TokenIntrospectionRequestDTO.builder()
+                .tokens(List.of(token, "invalid.token.value"))
+                .build();
+
+        mockMvc.perform(post("/api/user/tokens/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].active", is(true)))
+                .andExpect(jsonPath("$.results[0].subject", is("testuser")))
+                .andExpect(jsonPath("$.results[0].userId", is(7)))
+                .andExpect(jsonPath("$.results[0].exp", notNullValue()))
+                .andExpect(jsonPath("$.results[1].active", is(false)))
+                .andExpect(jsonPath("$.results[1].subject").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty introspection batch")
+    void shouldRejectEmptyIntrospectionBatch() throws Exception {
+        mockMvc.perform(post("/api/user/tokens/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should import a CSV body and report every row")
+    void shouldImportCsvBody() throws Exception {
+        userRepository.save(User.builder()
+                .username("existinguser")
+                .email("existing@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build());
+        String csv = """
+                email,username,password,fullName
+                alice@example.com,alice,password123,"Smith, Alice"
+                bob@example.com,bob,short,Bob
+                ALICE@example.com,alice2,password123,Alice Again
+                other@example.com,ExistingUser,password123,
+                carol@example.com,carol,password123,Carol
+                """;
+
+        mockMvc.perform(post("/api/user/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(5)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(3)))
+                .andExpect(jsonPath("$.results[0].line", is(2)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].id", notNullValue()))
+                .andExpect(jsonPath("$.results[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.results[1].message", is("Password must be at least 8 characters long")))
+                .andExpect(jsonPath("$.results[2].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$.results[3].status", is("CONFLICT")))
+                .andExpect(jsonPath("$.results[3].message", is("Username 'ExistingUser' already exists")))
+                .andExpect(jsonPath("$.results[4].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[4].message").doesNotExist());
+
+        User alice = userRepository.findByUsername("alice");
+        assertThat(alice.getFullName()).isEqualTo("Smith, Alice");
+        assertThat(passwordEncoder.matches("password123", alice.getPassword())).isTrue();
+        assertThat(userRepository.findByUsername("carol")).isNotNull();
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should import an NDJSON body and report malformed lines")
+    void shouldImportNdjsonBody() throws Exception {
+        String ndjson = """
+                {"username":"alice","email":"alice@example.com","password":"password123","fullName":"Alice"}
+                {"username":"bob",
+                {"username":"carol","email":"carol@example.com","password":"password123"}
+                """;
+
+        mockMvc.perform(post("/api/user/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.results[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.results[1].message", is("Malformed JSON")));
+
+        assertThat(userRepository.findByEmail("carol@example.com")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV import without a header")
+    void shouldRejectCsvImportWithoutHeader() throws Exception {
+        mockMvc.perform(post("/api/user/bulk")
+                        .contentType("text/csv")
+                        .content("alice@example.com,alice,password123\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid Import")));
+
+        assertThat(userRepository.count()).isZero();
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -1,9 +1,16 @@
 package com.user.service.userservice.exception;
 
 
+import com.user.service.userservice.config.TestPasswordHashingConfig;
 import com.user.service.userservice.config.TestSecurityConfig;
 import com.user.service.userservice.dto.request.RegisterRequestDTO;
+import com.user.service.userservice.service.TokenIntrospectionService;
+import com.user.service.userservice.service.UserAdminService;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.service.UserExportService;
+import com.user.service.userservice.service.UserImportService;
 import com.user.service.userservice.service.UserService;
+import com.user.service.userservice.util.LoginRateLimiter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +19,25 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -25,7 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests exception handling and error response formatting
  */
 @WebMvcTest
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, TestPasswordHashingConfig.class})
 @DisplayName("Global Exception Handler Tests")
 class GlobalExceptionHandlerTest {
 
@@ -35,11 +55,29 @@ class GlobalExceptionHandlerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @MockitoBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
+    @MockitoBean
+    private UserExportService userExportService;
+
+    @MockitoBean
+    private UserAdminService userAdminService;
+
     @Test
     @DisplayName("Should handle UsernameAlreadyExistsException")
     void shouldHandleUsernameAlreadyExistsException() throws Exception {
         when(userService.registerUser(any(RegisterRequestDTO.class)))
-                .thenThrow(new UsernameAlreadyExistsException("testuser"));
+                .thenReturn(CompletableFuture.failedFuture(new UsernameAlreadyExistsException("testuser")));
 
         String requestJson = """
                 {
@@ -50,7 +88,7 @@ class GlobalExceptionHandlerTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isConflict())
@@ -63,7 +101,7 @@ class GlobalExceptionHandlerTest {
     @DisplayName("Should handle EmailAlreadyExistsException")
     void shouldHandleEmailAlreadyExistsException() throws Exception {
         when(userService.registerUser(any(RegisterRequestDTO.class)))
-                .thenThrow(new EmailAlreadyExistsException("test@example.com"));
+                .thenReturn(CompletableFuture.failedFuture(new EmailAlreadyExistsException("test@example.com")));
 
         String requestJson = """
                 {
@@ -74,7 +112,7 @@ class GlobalExceptionHandlerTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isConflict())
@@ -87,7 +125,7 @@ class GlobalExceptionHandlerTest {
     @DisplayName("Should handle UserNotFoundException")
     void shouldHandleUserNotFoundException() throws Exception {
         when(userService.loginUser(any()))
-                .thenThrow(new UserNotFoundException("User not found"));
+                .thenReturn(CompletableFuture.failedFuture(new UserNotFoundException("User not found")));
 
         String requestJson = """
                 {
@@ -96,7 +134,7 @@ class GlobalExceptionHandlerTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/user/login")
+        performAsync(post("/api/user/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isNotFound())
@@ -109,7 +147,7 @@ class GlobalExceptionHandlerTest {
     @DisplayName("Should handle InvalidCredentialsException")
     void shouldHandleInvalidCredentialsException() throws Exception {
         when(userService.loginUser(any()))
-                .thenThrow(new InvalidCredentialsException("Invalid credentials"));
+                .thenReturn(CompletableFuture.failedFuture(new InvalidCredentialsException("Invalid credentials")));
 
         String requestJson = """
                 {
@@ -118,7 +156,7 @@ class GlobalExceptionHandlerTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/user/login")
+        performAsync(post("/api/user/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isUnauthorized())
@@ -131,7 +169,7 @@ class GlobalExceptionHandlerTest {
     @DisplayName("Should handle UserRegistrationException")
     void shouldHandleUserRegistrationException() throws Exception {
         when(userService.registerUser(any(RegisterRequestDTO.class)))
-                .thenThrow(new UserRegistrationException("Registration failed", new RuntimeException("Database connection failed")));
+                .thenReturn(CompletableFuture.failedFuture(new UserRegistrationException("Registration failed", new RuntimeException("Database connection failed"))));
 
         String requestJson = """
                 {
@@ -142,7 +180,7 @@ class GlobalExceptionHandlerTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isInternalServerError())
@@ -191,7 +229,7 @@ class GlobalExceptionHandlerTest {
     @DisplayName("Should handle generic runtime exceptions")
     void shouldHandleGenericRuntimeExceptions() throws Exception {
         when(userService.registerUser(any(RegisterRequestDTO.class)))
-                .thenThrow(new RuntimeException("Unexpected error"));
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Unexpected error")));
 
         String requestJson = """
                 {
@@ -202,7 +240,7 @@ class GlobalExceptionHandlerTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/user/register")
+        performAsync(post("/api/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isInternalServerError())
@@ -210,4 +248,136 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("An unexpected error occurred"))
                 .andExpect(jsonPath("$.timestamp").exists());
     }
+
+    @Test
+    @DisplayName("Should handle ServerBusyException with Retry-After")
+    void shouldHandleServerBusyException() throws Exception {
+        when(userService.loginUser(any()))
+                .thenReturn(CompletableFuture.failedFuture(new ServerBusyException("Server is busy, please retry later", 2)));
+
+        String requestJson = """
+                {
+                    "emailOrUsername": "test@example.com",
+                    "password": "password123"
+                }
+                """;
+
+        performAsync(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    @DisplayName("Should handle AccountLockedException with Retry-After")
+    void shouldHandleAccountLockedException() throws Exception {
+        when(userService.loginUser(any()))
+                .thenReturn(CompletableFuture.failedFuture(new AccountLockedException("Account is temporarily locked due to too many failed login attempts", 900)));
+
+        String requestJson = """
+                {
+                    "emailOrUsername": "test@example.com",
+                    "password": "password123"
+                }
+                """;
+
+        performAsync(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isLocked())
+                .andExpect(header().string("Retry-After", "900"))
+                .andExpect(jsonPath("$.error").value("Account Locked"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    @DisplayName("Should handle InvalidImportException")
+    void shouldHandleInvalidImportException() throws Exception {
+        when(userImportService.importUsers(any(), any()))
+                .thenThrow(new InvalidImportException("CSV header must name the columns username, email and password"));
+
+        mockMvc.perform(post("/api/user/bulk")
+                        .contentType("text/csv")
+                        .content("alice,alice@example.com,password123\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Import"))
+                .andExpect(jsonPath("$.message").value("CSV header must name the columns username, email and password"));
+    }
+
+    @Test
+    @DisplayName("Should handle an invalid request parameter value")
+    void shouldHandleMethodArgumentTypeMismatch() throws Exception {
+        mockMvc.perform(get("/api/user/admin/users/export").param("updatedFrom", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter 'updatedFrom'"));
+
+        verifyNoInteractions(userExportService);
+    }
+
+    @Test
+    @DisplayName("Should reject a page cursor that was not issued by the service")
+    void shouldRejectInvalidPageCursor() throws Exception {
+        mockMvc.perform(get("/api/user/admin/users").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter 'cursor'"));
+
+        verifyNoInteractions(userAdminService);
+    }
+
+    @Test
+    @DisplayName("Should handle SearchTimeoutException")
+    void shouldHandleSearchTimeoutException() throws Exception {
+        when(userAdminService.searchUsers(anyString(), anyInt()))
+                .thenThrow(new SearchTimeoutException("Search for 'smith' took too long, use a more specific term", null));
+
+        mockMvc.perform(get("/api/user/admin/users/search").param("q", "smith"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.error").value("Search Timed Out"))
+                .andExpect(jsonPath("$.message").value("Search for 'smith' took too long, use a more specific term"));
+    }
+
+    @Test
+    @DisplayName("Should reject a search without a term")
+    void shouldRejectMissingSearchTerm() throws Exception {
+        mockMvc.perform(get("/api/user/admin/users/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Missing required parameter 'q'"));
+
+        verifyNoInteractions(userAdminService);
+    }
+
+    @Test
+    @DisplayName("Should handle TooManyLoginAttemptsException before calling the service")
+    void shouldHandleTooManyLoginAttemptsException() throws Exception {
+        doThrow(new TooManyLoginAttemptsException("Too many login attempts, please retry later", 30))
+                .when(loginRateLimiter).checkLogin(anyString(), anyString());
+
+        String requestJson = """
+                {
+                    "emailOrUsername": "test@example.com",
+                    "password": "password123"
+                }
+                """;
+
+        mockMvc.perform(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+        verifyNoInteractions(userService);
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
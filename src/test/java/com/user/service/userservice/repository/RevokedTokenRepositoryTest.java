@@ -0,0 +1,58 @@
+package com.user.service.userservice.repository;
+
+import com.user.service.userservice.entity.RevokedToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for RevokedTokenRepository
+ * Tests that revocations are inserted, never merged into an existing row
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Revoked Token Repository Tests")
+class RevokedTokenRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    @DisplayName("Should insert a revocation")
+    void shouldInsertRevocation() {
+        revokedTokenRepository.saveAndFlush(revokedToken("jti-1"));
+        entityManager.clear();
+
+        assertThat(revokedTokenRepository.existsById("jti-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a second revocation of the same token instead of updating it")
+    void shouldRejectDuplicateRevocation() {
+        revokedTokenRepository.saveAndFlush(revokedToken("jti-2"));
+        entityManager.clear();
+
+        assertThatThrownBy(() -> revokedTokenRepository.saveAndFlush(revokedToken("jti-2")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static RevokedToken revokedToken(String tokenId) {
+        return RevokedToken.builder()
+                .tokenId(tokenId)
+                .userId(1L)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.user.service.userservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Query plan tests for the login lookups
+ * Runs the Flyway migrations against PostgreSQL, calls {@link UserRepository#findByEmailIgnoreCase},
+ * {@link UserRepository#findByUsernameIgnoreCase} and the {@link UserRepository#findForLogin} projection
+ * queries, captures the SQL Hibernate emits for them and checks with EXPLAIN that each one probes a single
+ * lower(...) index of the users table.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("User Login Query Plan Integration Tests")
+class UserLoginQueryPlanIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+
+    /**
+     * Records every statement Hibernate prepares, unchanged
+     */
+    static class StatementCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (username, email, password, created_at, updated_at)
+                    SELECT 'user' || i, 'user' || i || '@example.com', 'hash', now(), now()
+                    FROM generate_series(1, 1000) AS i
+                    """);
+            statement.execute("VACUUM ANALYZE users");
+        }
+    }
+
+    @Test
+    @DisplayName("Should look up an email with a single probe of the lower(email) index")
+    void shouldLookUpEmailWithSingleIndexProbe() {
+        String plan = explainEmitted(() -> userRepository.findByEmailIgnoreCase("User500@Example.com"),
+                "User500@Example.com");
+
+        assertThat(plan).contains("Index Scan using uk_users_email_lower on users");
+        assertThat(plan).doesNotContain("Seq Scan on users", "BitmapOr");
+    }
+
+    @Test
+    @DisplayName("Should look up a username with a single probe of the lower(username) index")
+    void shouldLookUpUsernameWithSingleIndexProbe() {
+        String plan = explainEmitted(() -> userRepository.findByUsernameIgnoreCase("USER500"), "USER500");
+
+        assertThat(plan).contains("Index Scan using uk_users_username_lower on users");
+        assertThat(plan).doesNotContain("Seq Scan on users", "BitmapOr");
+    }
+
+    @Test
+    @DisplayName("Should read the login columns by email with a single probe of the lower(email) index")
+    void shouldReadLoginColumnsByEmailWithSingleIndexProbe() {
+        String plan = explainEmitted(() -> userRepository.findForLogin("User500@Example.com"), "User500@Example.com");
+
+        assertThat(plan).contains("Index Scan using uk_users_email_lower on users");
+        assertThat(plan).doesNotContain("Seq Scan on users");
+    }
+
+    @Test
+    @DisplayName("Should read the login columns by username with a single probe of the lower(username) index")
+    void shouldReadLoginColumnsByUsernameWithSingleIndexProbe() {
+        String plan = explainEmitted(() -> userRepository.findForLogin("USER500"), "USER500");
+
+        assertThat(plan).contains("Index Scan using uk_users_username_lower on users");
+        assertThat(plan).doesNotContain("Seq Scan on users");
+    }
+
+    @Test
+    @DisplayName("Should reject an email that differs from an existing one only in case")
+    void shouldRejectCaseInsensitiveDuplicateEmail() {
+        assertThatThrownBy(() -> {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO users (username, email, password, created_at, updated_at)
+                        VALUES ('otheruser', 'USER1@example.com', 'hash', now(), now())
+                        """);
+            }
+        }).isInstanceOf(SQLException.class)
+                .hasMessageContaining("uk_users_email_lower");
+    }
+
+    /**
+     * Run a repository call, capture the single statement Hibernate emits for it and EXPLAIN that statement
+     *
+     * @param call repository call to run
+     * @param identifier value bound to the statement's only parameter
+     * @return query plan, one node per line
+     */
+    private String explainEmitted(Runnable call, String identifier) {
+        statementCapture.statements.clear();
+        call.run();
+        assertThat(statementCapture.statements).hasSize(1);
+        String sql = statementCapture.statements.get(0);
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, identifier);
+        return String.join("\n", plan);
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
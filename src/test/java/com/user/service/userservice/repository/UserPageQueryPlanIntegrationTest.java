@@ -0,0 +1,120 @@
+package com.user.service.userservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan tests for the admin user listing
+ * Runs the Flyway migrations against PostgreSQL and checks with EXPLAIN that the SQL generated for
+ * {@link UserRepository#findPage} reads a page by walking the (created_at, id) index backwards from the cursor,
+ * so neither a sort nor the rows before the page are paid for, however deep the page is.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("User Page Query Plan Integration Tests")
+class UserPageQueryPlanIntegrationTest {
+
+    private static final String FIRST_PAGE_QUERY = """
+            SELECT u.id, u.username, u.email, u.full_name, u.created_at, u.locked_until FROM users u
+            ORDER BY u.created_at DESC, u.id DESC
+            LIMIT 51
+            """;
+
+    private static final String NEXT_PAGE_QUERY = """
+            SELECT u.id, u.username, u.email, u.full_name, u.created_at, u.locked_until FROM users u
+            WHERE (u.created_at, u.id) < (?, ?)
+            ORDER BY u.created_at DESC, u.id DESC
+            LIMIT 51
+            """;
+
+    private static final String EXPORT_QUERY = """
+            SELECT u.id, u.username, u.email, u.full_name, u.created_at, u.updated_at FROM users u
+            WHERE u.updated_at >= ? AND u.updated_at < ?
+            ORDER BY u.updated_at, u.id
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (username, email, password, created_at, updated_at)
+                    SELECT 'user' || i, 'user' || i || '@example.com', 'hash',
+                           timestamp '2025-01-01' + i * interval '1 minute', timestamp '2025-01-01' + i * interval '1 minute'
+                    FROM generate_series(1, 100000) AS i
+                    """);
+            statement.execute("VACUUM ANALYZE users");
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the first page from the top of the created_at index without sorting")
+    void shouldReadFirstPageFromIndex() throws SQLException {
+        String plan = explain(FIRST_PAGE_QUERY);
+
+        assertThat(plan).contains("Index Scan Backward using idx_users_created_at on users");
+        assertThat(plan).doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    @DisplayName("Should seek a deep page through the created_at index without sorting")
+    void shouldSeekDeepPageThroughIndex() throws SQLException {
+        String plan = explain(NEXT_PAGE_QUERY, Timestamp.valueOf("2025-01-08T00:00:00"), 10080L);
+
+        assertThat(plan).contains("Index Scan Backward using idx_users_created_at on users",
+                "Index Cond: (ROW(created_at, id) < ROW(");
+        assertThat(plan).doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    @DisplayName("Should read an updated_at range of the export from the updated_at index")
+    void shouldReadExportRangeFromIndex() throws SQLException {
+        String plan = explain(EXPORT_QUERY, Timestamp.valueOf("2025-01-02T00:00:00"), Timestamp.valueOf("2025-01-03T00:00:00"));
+
+        assertThat(plan).contains("Index Scan using idx_users_updated_at on users");
+        assertThat(plan).doesNotContain("Seq Scan", "Sort");
+    }
+
+    private static String explain(String query, Object... parameters) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
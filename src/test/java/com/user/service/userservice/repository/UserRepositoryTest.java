@@ -1,5 +1,6 @@
 package com.user.service.userservice.repository;
 
+import com.user.service.userservice.entity.Role;
 import com.user.service.userservice.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,7 +11,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -123,6 +127,49 @@ class UserRepositoryTest {
         assertThat(foundUser.getEmail()).isEqualTo("test@example.com");
     }
 
+    @Test
+    @DisplayName("Should find user by email or username ignoring case")
+    void shouldFindUserByEmailOrUsernameIgnoringCase() {
+        entityManager.persistAndFlush(testUser);
+
+        assertThat(userRepository.findByEmailOrUsername("Test@Example.COM"))
+                .isNotNull()
+                .extracting(User::getUsername)
+                .isEqualTo("testuser");
+        assertThat(userRepository.findByEmailOrUsername("TestUser"))
+                .isNotNull()
+                .extracting(User::getEmail)
+                .isEqualTo("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should not match a username against emails")
+    void shouldNotMatchUsernameAgainstEmails() {
+        entityManager.persistAndFlush(testUser);
+
+        assertThat(userRepository.findByEmailOrUsername("testuser@")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read login columns and role names without managing the user")
+    void shouldFindForLoginWithoutManagingUser() {
+        Role admin = entityManager.persistAndFlush(Role.of("ADMIN"));
+        Role teacher = entityManager.persistAndFlush(Role.of("TEACHER"));
+        testUser.setRoles(Set.of(admin, teacher));
+        entityManager.persistAndFlush(testUser);
+        entityManager.clear();
+
+        User foundUser = userRepository.findForLogin("TEST@example.com");
+
+        assertThat(foundUser).isNotNull();
+        assertThat(foundUser.getId()).isEqualTo(testUser.getId());
+        assertThat(foundUser.getPassword()).isEqualTo("encodedPassword");
+        assertThat(foundUser.getRoles()).extracting(Role::getName).containsExactlyInAnyOrder("ADMIN", "TEACHER");
+        assertThat(entityManager.getEntityManager().contains(foundUser)).isFalse();
+        assertThat(userRepository.findForLogin("testuser")).isNotNull();
+        assertThat(userRepository.findForLogin("nonexistent")).isNull();
+    }
+
     @Test
     @DisplayName("Should return null when finding user by non-existent identifier using findByEmailOrUsername")
     void shouldReturnNullWhenFindingUserByNonExistentIdentifierUsingFindByEmailOrUsername() {
@@ -207,6 +254,26 @@ class UserRepositoryTest {
         assertThat(updatedUser.getCreatedAt()).isEqualTo(testUser.getCreatedAt());
     }
 
+    @Test
+    @DisplayName("Should assign distinct sequence ids to users saved together")
+    void shouldAssignDistinctSequenceIdsToUsersSavedTogether() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            users.add(User.builder()
+                    .username("batchuser" + i)
+                    .email("batchuser" + i + "@example.com")
+                    .password("encodedPassword")
+                    .build());
+        }
+
+        List<User> savedUsers = userRepository.saveAll(users);
+        assertThat(savedUsers).extracting(User::getId).doesNotContainNull().doesNotHaveDuplicates();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(userRepository.count()).isEqualTo(120);
+    }
+
     @Test
     @DisplayName("Should enforce unique constraint on username")
     void shouldEnforceUniqueConstraintOnUsername() {
@@ -0,0 +1,112 @@
+package com.user.service.userservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan tests for the admin user search
+ * Runs the Flyway migrations against PostgreSQL and checks with EXPLAIN that the per-column SQL generated for
+ * {@link UserRepository#search} finds substrings through the column's trigram index instead of scanning the
+ * table, and that a term matching every user reads only the nearest matches from the index rather than
+ * sorting them all.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("User Search Query Plan Integration Tests")
+class UserSearchQueryPlanIntegrationTest {
+
+    private static final String SEARCH_QUERY = """
+            SELECT u.id, u.username, u.email, u.full_name, u.created_at, u.locked_until, (lower(u.%1$s) <-> ?)
+            FROM users u
+            WHERE lower(u.%1$s) LIKE ? ESCAPE '!'
+            ORDER BY (lower(u.%1$s) <-> ?)
+            FETCH FIRST 20 ROWS ONLY
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (username, email, password, full_name, created_at, updated_at)
+                    SELECT 'user_' || substr(md5(i::text), 1, 10), substr(md5(i::text), 11, 10) || '@example.com',
+                           'hash', 'Name ' || substr(md5(i::text), 21, 8), now(), now()
+                    FROM generate_series(1, 100000) AS i
+                    """);
+            statement.execute("VACUUM ANALYZE users");
+        }
+    }
+
+    @Test
+    @DisplayName("Should find a substring through the trigram index of each column")
+    void shouldSearchThroughTrigramIndexes() throws SQLException {
+        assertThat(explain("username", "4f3c2")).contains("idx_users_username_trgm").doesNotContain("Seq Scan");
+        assertThat(explain("email", "4f3c2")).contains("idx_users_email_trgm").doesNotContain("Seq Scan");
+        assertThat(explain("full_name", "4f3c2")).contains("idx_users_full_name_trgm").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should use the trigram index for a term with an escaped wildcard")
+    void shouldSearchEscapedWildcardThroughTrigramIndexes() throws SQLException {
+        String plan = explain("username", "er!_4f3");
+
+        assertThat(plan).contains("idx_users_username_trgm");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should read the nearest matches of a term matching every user from the index without sorting")
+    void shouldReadNearestMatchesWithoutSorting() throws SQLException {
+        String plan = explain("email", "example");
+
+        assertThat(plan).contains("Index Scan using idx_users_email_trgm on users", "Order By:");
+        assertThat(plan).doesNotContain("Sort", "Seq Scan");
+    }
+
+    /**
+     * Explain the search of one column for an already escaped term
+     */
+    private static String explain(String column, String escapedTerm) throws SQLException {
+        String term = escapedTerm.replace("!", "");
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + SEARCH_QUERY.formatted(column))) {
+            Object[] parameters = {term, "%" + escapedTerm + "%", term};
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
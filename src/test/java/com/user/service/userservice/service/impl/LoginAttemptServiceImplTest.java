@@ -0,0 +1,291 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.exception.AccountLockedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LoginAttemptServiceImpl
+ * Tests locking after repeated failures, lock expiry, reset on success, batched flushes and counters
+ * shared between instances
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Attempt Service Implementation Tests")
+class LoginAttemptServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+    private LoginAttemptServiceImpl loginAttemptService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptServiceImpl(jdbcTemplate, 3, Duration.ofMinutes(15), Duration.ofMinutes(1), clock);
+        user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("encodedPassword")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should lock the account after the maximum number of failures")
+    void shouldLockAccountAfterMaxFailures() {
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.recordFailure(user);
+        assertThatCode(() -> loginAttemptService.checkNotLocked(user)).doesNotThrowAnyException();
+
+        loginAttemptService.recordFailure(user);
+
+        assertThatThrownBy(() -> loginAttemptService.checkNotLocked(user))
+                .isInstanceOf(AccountLockedException.class)
+                .extracting(e -> ((AccountLockedException) e).getRetryAfterSeconds())
+                .isEqualTo(901L);
+    }
+
+    @Test
+    @DisplayName("Should unlock the account once the lock duration has passed")
+    void shouldUnlockAfterLockDuration() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure(user);
+        }
+
+        clock.advance(Duration.ofMinutes(15));
+
+        assertThatCode(() -> loginAttemptService.checkNotLocked(user)).doesNotThrowAnyException();
+        loginAttemptService.recordFailure(user);
+        assertThatCode(() -> loginAttemptService.checkNotLocked(user)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count after a successful login")
+    void shouldResetFailuresOnSuccess() {
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.recordSuccess(user);
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.recordFailure(user);
+
+        assertThatCode(() -> loginAttemptService.checkNotLocked(user)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should honor a lock loaded from the database")
+    void shouldHonorLockFromDatabase() {
+        user.setLockedUntil(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC).plusMinutes(5));
+
+        assertThatThrownBy(() -> loginAttemptService.checkNotLocked(user))
+                .isInstanceOf(AccountLockedException.class);
+        assertThat(loginAttemptService.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should continue counting from failures loaded from the database")
+    void shouldSeedFailuresFromDatabase() {
+        user.setFailedLoginAttempts(2);
+
+        loginAttemptService.recordFailure(user);
+
+        assertThatThrownBy(() -> loginAttemptService.checkNotLocked(user))
+                .isInstanceOf(AccountLockedException.class);
+    }
+
+    @Test
+    @DisplayName("Should write the failures of all changed accounts as deltas in one batch per flush")
+    @SuppressWarnings("unchecked")
+    void shouldFlushChangedCountersInOneBatch() {
+        User other = User.builder().id(2L).username("other").build();
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure(user);
+        }
+        loginAttemptService.recordFailure(other);
+
+        loginAttemptService.flush();
+        loginAttemptService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("failed_login_attempts + ?"), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        Object[] locked = rows.getValue().stream().filter(row -> row[row.length - 1].equals(1L)).findFirst().orElseThrow();
+        assertThat(locked[0]).isEqualTo(true);
+        assertThat(locked[1]).isEqualTo(3);
+        assertThat(locked[8]).isEqualTo(Timestamp.valueOf(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC).plusMinutes(15)));
+        assertThat(locked[13]).isEqualTo(Timestamp.valueOf(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC)));
+        Object[] counted = rows.getValue().stream().filter(row -> row[row.length - 1].equals(2L)).findFirst().orElseThrow();
+        assertThat(counted[0]).isEqualTo(false);
+        assertThat(counted[1]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry counters whose flush failed")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedFlush() {
+        loginAttemptService.recordFailure(user);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(new int[]{1});
+
+        loginAttemptService.flush();
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("failed_login_attempts + ?"), rows.capture());
+        assertThat(rows.getAllValues().get(1).get(0)[1]).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should add up failures of two instances and keep a lock set by another instance")
+    void shouldShareCountersBetweenInstances() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate sharedJdbcTemplate = new JdbcTemplate(database);
+            sharedJdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, "
+                    + "failed_login_attempts INT NOT NULL DEFAULT 0, locked_until TIMESTAMP, updated_at TIMESTAMP)");
+            sharedJdbcTemplate.update("INSERT INTO users (id) VALUES (1), (2)");
+            LoginAttemptServiceImpl first = new LoginAttemptServiceImpl(sharedJdbcTemplate, 3, Duration.ofMinutes(15), Duration.ofMinutes(1), clock);
+            LoginAttemptServiceImpl second = new LoginAttemptServiceImpl(sharedJdbcTemplate, 3, Duration.ofMinutes(15), Duration.ofMinutes(1), clock);
+            User other = User.builder().id(2L).username("other").build();
+
+            // two failures on each instance lock the account once both have flushed
+            first.recordFailure(user);
+            first.recordFailure(user);
+            second.recordFailure(user);
+            second.recordFailure(user);
+            first.flush();
+            second.flush();
+            // the first instance wrote nothing since, so it catches up at its resync interval
+            clock.advance(Duration.ofMinutes(1));
+            first.flush();
+
+            assertThatThrownBy(() -> first.checkNotLocked(user)).isInstanceOf(AccountLockedException.class);
+            assertThatThrownBy(() -> second.checkNotLocked(user)).isInstanceOf(AccountLockedException.class);
+
+            // a failure on an instance that has not seen the lock does not lift it
+            for (int i = 0; i < 3; i++) {
+                first.recordFailure(other);
+            }
+            first.flush();
+            second.recordFailure(other);
+            second.flush();
+
+            assertThat(sharedJdbcTemplate.queryForObject("SELECT locked_until FROM users WHERE id = 2", Timestamp.class))
+                    .isEqualTo(Timestamp.valueOf(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC).plusMinutes(15)));
+            assertThatThrownBy(() -> second.checkNotLocked(other)).isInstanceOf(AccountLockedException.class);
+            assertThat(sharedJdbcTemplate.queryForObject("SELECT updated_at FROM users WHERE id = 2", Timestamp.class))
+                    .isEqualTo(Timestamp.valueOf(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC)));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should re-read only written and locked accounts between resyncs")
+    void shouldRereadUnchangedAccountsOnlyOnResync() {
+        User other = User.builder().id(2L).username("other").build();
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.flush();
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure(other);
+        }
+
+        loginAttemptService.flush();
+        loginAttemptService.flush();
+        clock.advance(Duration.ofMinutes(1));
+        loginAttemptService.flush();
+
+        ArgumentCaptor<Object[]> ids = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(4)).query(contains("WHERE id IN"), any(RowCallbackHandler.class), ids.capture());
+        assertThat(ids.getAllValues()).containsExactly(
+                new Object[]{1L}, new Object[]{2L}, new Object[]{2L}, new Object[]{1L, 2L});
+    }
+
+    @Test
+    @DisplayName("Should forget idle unlocked accounts after flushing them")
+    void shouldEvictIdleAccounts() {
+        loginAttemptService.recordFailure(user);
+        loginAttemptService.flush();
+
+        clock.advance(Duration.ofMinutes(16));
+        loginAttemptService.flush();
+
+        assertThat(loginAttemptService.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not track accounts that never failed")
+    void shouldNotTrackSuccessWithoutFailures() {
+        loginAttemptService.recordSuccess(user);
+        loginAttemptService.flush();
+
+        assertThat(loginAttemptService.size()).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.entity.RefreshToken;
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.exception.InvalidRefreshTokenException;
+import com.user.service.userservice.repository.RefreshTokenRepository;
+import com.user.service.userservice.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RefreshTokenServiceImpl
+ * Tests issuing, rotation and reuse detection
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Service Implementation Tests")
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    private User user;
+    private UUID familyId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "expiration", 60000L);
+        ReflectionTestUtils.setField(refreshTokenService, "maxFamilyLifetime", 3600000L);
+        user = User.builder().id(1L).username("testuser").email("test@example.com").build();
+        familyId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should store only the hash of an issued token")
+    void shouldStoreOnlyHashOfIssuedToken() {
+        String token = refreshTokenService.issueToken(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(token).hasSize(43);
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(RefreshTokenServiceImpl.hash(token)).isNotEqualTo(token);
+        assertThat(saved.getValue().getFamilyId()).isNotNull();
+        assertThat(saved.getValue().getFamilyIssuedAt()).isNotNull();
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should rotate token within its family")
+    void shouldRotateTokenWithinFamily() {
+        RefreshToken current = storedToken("oldToken", null, null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenServiceImpl.hash("oldToken"))).thenReturn(current);
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotateToken("oldToken");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo("oldToken");
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(familyId);
+        assertThat(saved.getValue().getFamilyIssuedAt()).isEqualTo(current.getFamilyIssuedAt());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse to rotate a family past its maximum lifetime")
+    void shouldRefuseRotationPastMaxFamilyLifetime() {
+        RefreshToken current = storedToken("oldToken", null, null);
+        current.setFamilyIssuedAt(LocalDateTime.now().minusHours(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenServiceImpl.hash("oldToken"))).thenReturn(current);
+
+        assertThatThrownBy(() -> refreshTokenService.rotateToken("oldToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token family has reached its maximum lifetime");
+
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke family when a used token is presented again")
+    void shouldRevokeFamilyOnReuse() {
+        RefreshToken current = storedToken("oldToken", LocalDateTime.now().minusMinutes(1), null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenServiceImpl.hash("oldToken"))).thenReturn(current);
+
+        assertThatThrownBy(() -> refreshTokenService.rotateToken("oldToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token has already been used");
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke family when a concurrent exchange already used the token")
+    void shouldRevokeFamilyWhenConcurrentExchangeWon() {
+        RefreshToken current = storedToken("oldToken", null, null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenServiceImpl.hash("oldToken"))).thenReturn(current);
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotateToken("oldToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and revoked tokens")
+    void shouldRejectUnknownAndRevokedTokens() {
+        assertThatThrownBy(() -> refreshTokenService.rotateToken("unknownToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Invalid refresh token");
+
+        RefreshToken revoked = storedToken("revokedToken", null, LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenServiceImpl.hash("revokedToken"))).thenReturn(revoked);
+        assertThatThrownBy(() -> refreshTokenService.rotateToken("revokedToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token is expired or revoked");
+
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+    }
+
+    private RefreshToken storedToken(String token, LocalDateTime usedAt, LocalDateTime revokedAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .user(user)
+                .tokenHash(RefreshTokenServiceImpl.hash(token))
+                .familyId(familyId)
+                .familyIssuedAt(LocalDateTime.now().minusMinutes(5))
+                .expiresAt(LocalDateTime.now().plusMinutes(1))
+                .usedAt(usedAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
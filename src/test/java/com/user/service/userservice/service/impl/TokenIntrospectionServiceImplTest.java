@@ -0,0 +1,98 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.dto.request.TokenIntrospectionRequestDTO;
+import com.user.service.userservice.dto.response.TokenIntrospectionResponseDTO;
+import com.user.service.userservice.service.TokenRevocationService;
+import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.util.VerifiedToken;
+import com.user.service.userservice.util.VerifiedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TokenIntrospectionServiceImpl
+ * Tests per-token results and ordering across parallel chunks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Introspection Service Implementation Tests")
+class TokenIntrospectionServiceImplTest {
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtUtil jwtUtil;
+    private TokenIntrospectionServiceImpl tokenIntrospectionService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKeyForTestingPurposesOnlyThisShouldBeLongEnough");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60000L);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 1000, mock(ObjectProvider.class));
+        tokenIntrospectionService = new TokenIntrospectionServiceImpl(cache, tokenRevocationService, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenIntrospectionService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report active and inactive tokens in request order")
+    void shouldReportResultsInRequestOrder() {
+        List<String> tokens = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            tokens.add(i % 3 == 0 ? "not-a-token-" + i : jwtUtil.generateToken(i, "user" + i, "user" + i + "@example.com"));
+        }
+
+        TokenIntrospectionResponseDTO response = tokenIntrospectionService.introspect(
+                TokenIntrospectionRequestDTO.builder().tokens(tokens).build());
+
+        assertThat(response.getResults()).hasSize(200);
+        for (int i = 0; i < 200; i++) {
+            TokenIntrospectionResponseDTO.Result result = response.getResults().get(i);
+            if (i % 3 == 0) {
+                assertThat(result.isActive()).isFalse();
+                assertThat(result.getSubject()).isNull();
+            } else {
+                assertThat(result.isActive()).isTrue();
+                assertThat(result.getSubject()).isEqualTo("user" + i);
+                assertThat(result.getUserId()).isEqualTo((long) i);
+                assertThat(result.getExp()).isGreaterThan(System.currentTimeMillis() / 1000);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report revoked tokens as inactive")
+    void shouldReportRevokedTokensAsInactive() {
+        String revoked = jwtUtil.generateToken(1L, "revoked", "revoked@example.com");
+        String active = jwtUtil.generateToken(2L, "active", "active@example.com");
+        when(tokenRevocationService.isRevoked(any(VerifiedToken.class))).thenReturn(false);
+        when(tokenRevocationService.isRevoked(argThat(token -> token != null && "revoked".equals(token.getSubject()))))
+                .thenReturn(true);
+
+        TokenIntrospectionResponseDTO response = tokenIntrospectionService.introspect(
+                TokenIntrospectionRequestDTO.builder().tokens(List.of(revoked, active)).build());
+
+        assertThat(response.getResults().get(0).isActive()).isFalse();
+        assertThat(response.getResults().get(1).isActive()).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.user.service.userservice.service.impl;
+
+import com.user.service.userservice.entity.RevokedToken;
+import com.user.service.userservice.repository.RevokedTokenRepository;
+import com.user.service.userservice.util.VerifiedToken;
+import com.user.service.userservice.util.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TokenRevocationServiceImpl
+ * Tests that the Bloom filter answers negatives without touching the database
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation Service Implementation Tests")
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository, verifiedTokenCache, 1000, 0.001);
+    }
+
+    @Test
+    @DisplayName("Should check the database until the filter is loaded")
+    void shouldCheckDatabaseUntilFilterIsLoaded() {
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(false);
+
+        assertThat(tokenRevocationService.isRevoked(token("jti-1"))).isFalse();
+
+        verify(revokedTokenRepository).existsById("jti-1");
+    }
+
+    @Test
+    @DisplayName("Should answer filter misses without the database")
+    void shouldAnswerFilterMissesWithoutDatabase() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("revoked-jti"));
+        tokenRevocationService.rebuildFilter();
+        when(revokedTokenRepository.existsById("revoked-jti")).thenReturn(true);
+
+        assertThat(tokenRevocationService.isRevoked(token("active-jti"))).isFalse();
+        assertThat(tokenRevocationService.isRevoked(token("revoked-jti"))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(token(null))).isFalse();
+
+        verify(revokedTokenRepository, never()).existsById("active-jti");
+    }
+
+    @Test
+    @DisplayName("Should store revocation and add it to the filter")
+    void shouldStoreRevocationAndAddToFilter() {
+        tokenRevocationService.rebuildFilter();
+        when(verifiedTokenCache.verify("jwt")).thenReturn(token("jti-2"));
+
+        tokenRevocationService.revokeToken("jwt");
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getTokenId()).isEqualTo("jti-2");
+        assertThat(saved.getValue().getUserId()).isEqualTo(1L);
+
+        when(revokedTokenRepository.existsById("jti-2")).thenReturn(true);
+        assertThat(tokenRevocationService.isRevoked(token("jti-2"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat a concurrent revocation of the same token as already revoked")
+    void shouldTreatConcurrentRevocationAsRevoked() {
+        tokenRevocationService.rebuildFilter();
+        when(verifiedTokenCache.verify("jwt")).thenReturn(token("jti-3"));
+        when(revokedTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        tokenRevocationService.revokeToken("jwt");
+
+        when(revokedTokenRepository.existsById("jti-3")).thenReturn(true);
+        assertThat(tokenRevocationService.isRevoked(token("jti-3"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations made by other instances")
+    void shouldPickUpRevocationsFromOtherInstances() {
+        tokenRevocationService.rebuildFilter();
+        when(revokedTokenRepository.findTokenIdsRevokedSince(any())).thenReturn(List.of("remote-jti"));
+        when(revokedTokenRepository.existsById(anyString())).thenReturn(true);
+
+        tokenRevocationService.refreshFilter();
+
+        assertThat(tokenRevocationService.isRevoked(token("remote-jti"))).isTrue();
+    }
+
+    private static VerifiedToken token(String tokenId) {
+        return VerifiedToken.builder()
+                .tokenId(tokenId)
+                .subject("testuser")
+                .userId(1L)
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+    }
+}
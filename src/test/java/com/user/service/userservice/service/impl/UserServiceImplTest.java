@@ -2,33 +2,50 @@ package com.user.service.userservice.service.impl;
 
 
 import com.user.service.userservice.dto.request.LoginRequestDTO;
+import com.user.service.userservice.dto.request.RefreshTokenRequestDTO;
 import com.user.service.userservice.dto.request.RegisterRequestDTO;
 import com.user.service.userservice.dto.response.LoginResponseDTO;
 import com.user.service.userservice.dto.response.RegisterResponseDTO;
+import com.user.service.userservice.entity.Role;
 import com.user.service.userservice.entity.User;
+import com.user.service.userservice.exception.AccountLockedException;
 import com.user.service.userservice.exception.EmailAlreadyExistsException;
 import com.user.service.userservice.exception.InvalidCredentialsException;
+import com.user.service.userservice.exception.InvalidRefreshTokenException;
 import com.user.service.userservice.exception.UserNotFoundException;
 import com.user.service.userservice.exception.UserRegistrationException;
 import com.user.service.userservice.exception.UsernameAlreadyExistsException;
 import com.user.service.userservice.mapper.UserMapper;
 import com.user.service.userservice.repository.UserRepository;
+import com.user.service.userservice.service.LoginAttemptService;
+import com.user.service.userservice.service.RefreshTokenService;
 import com.user.service.userservice.util.JwtUtil;
+import com.user.service.userservice.util.PasswordHashingExecutor;
+import com.user.service.userservice.util.UserCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,6 +70,18 @@ class UserServiceImplTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private UserCache userCache;
+
+    @Spy
+    private PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(Runnable::run, 1);
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -96,13 +125,11 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Should register user successfully when all data is valid")
     void shouldRegisterUserSuccessfully() {
-        when(userRepository.findByUsername("testuser")).thenReturn(null);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(null);
         when(userMapper.toEntity(registerRequestDTO)).thenReturn(user);
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
 
-        RegisterResponseDTO result = userService.registerUser(registerRequestDTO);
+        RegisterResponseDTO result = userService.registerUser(registerRequestDTO).join();
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
@@ -111,130 +138,211 @@ class UserServiceImplTest {
         assertThat(result.getFullName()).isEqualTo("Test User");
         assertThat(result.getCreatedAt()).isNotNull();
 
-        verify(userRepository).findByUsername("testuser");
-        verify(userRepository).findByEmail("test@example.com");
         verify(userMapper).toEntity(registerRequestDTO);
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userCache).invalidate(savedUser);
     }
 
     @Test
     @DisplayName("Should throw UsernameAlreadyExistsException when username already exists")
     void shouldThrowUsernameAlreadyExistsException() {
-        when(userRepository.findByUsername("testuser")).thenReturn(savedUser);
+        when(userMapper.toEntity(registerRequestDTO)).thenReturn(user);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.USERNAME_CONSTRAINT));
 
-        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO))
+        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(UsernameAlreadyExistsException.class)
                 .hasMessage("Username 'testuser' already exists");
 
-        verify(userRepository).findByUsername("testuser");
-        verify(userRepository, never()).findByEmail(anyString());
-        verify(userMapper, never()).toEntity(any());
-        verify(userRepository, never()).save(any());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).findByUsername(anyString());
     }
 
     @Test
     @DisplayName("Should throw EmailAlreadyExistsException when email already exists")
     void shouldThrowEmailAlreadyExistsException() {
-        when(userRepository.findByUsername("testuser")).thenReturn(null);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(savedUser);
+        when(userMapper.toEntity(registerRequestDTO)).thenReturn(user);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.EMAIL_CONSTRAINT));
 
-        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO))
+        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(EmailAlreadyExistsException.class)
                 .hasMessage("Email 'test@example.com' already exists");
 
-        verify(userRepository).findByUsername("testuser");
-        verify(userRepository).findByEmail("test@example.com");
-        verify(userMapper, never()).toEntity(any());
-        verify(userRepository, never()).save(any());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw UserRegistrationException when another constraint is violated")
+    void shouldThrowUserRegistrationExceptionOnOtherConstraint() {
+        when(userMapper.toEntity(registerRequestDTO)).thenReturn(user);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("users_pkey"));
+
+        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(UserRegistrationException.class)
+                .hasMessage("Failed to register user");
     }
 
     @Test
     @DisplayName("Should throw UserRegistrationException when unexpected error occurs")
     void shouldThrowUserRegistrationException() {
-        when(userRepository.findByUsername("testuser")).thenReturn(null);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(null);
         when(userMapper.toEntity(registerRequestDTO)).thenReturn(user);
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database error"));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new RuntimeException("Database error"));
 
-        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO))
+        assertThatThrownBy(() -> userService.registerUser(registerRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(UserRegistrationException.class)
                 .hasMessage("Failed to register user");
 
-        verify(userRepository).findByUsername("testuser");
-        verify(userRepository).findByEmail("test@example.com");
         verify(userMapper).toEntity(registerRequestDTO);
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Should login user successfully with valid credentials")
     void shouldLoginUserSuccessfully() {
-        when(userRepository.findByEmailOrUsername("test@example.com")).thenReturn(savedUser);
+        when(userCache.findForLogin("test@example.com")).thenReturn(savedUser);
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
-        when(jwtUtil.generateToken(1L, "testuser", "test@example.com")).thenReturn("jwtToken");
+        when(jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of())).thenReturn("jwtToken");
         when(jwtUtil.getExpirationTime()).thenReturn(86400000L);
+        when(userRepository.getReferenceById(1L)).thenReturn(savedUser);
+        when(refreshTokenService.issueToken(savedUser)).thenReturn("refreshToken");
 
-        LoginResponseDTO result = userService.loginUser(loginRequestDTO);
+        LoginResponseDTO result = userService.loginUser(loginRequestDTO).join();
 
         assertThat(result).isNotNull();
         assertThat(result.getToken()).isEqualTo("jwtToken");
         assertThat(result.getExpiresIn()).isEqualTo(86400000L);
+        assertThat(result.getRefreshToken()).isEqualTo("refreshToken");
         assertThat(result.getUserId()).isEqualTo(1L);
         assertThat(result.getUsername()).isEqualTo("testuser");
         assertThat(result.getEmail()).isEqualTo("test@example.com");
         assertThat(result.getFullName()).isEqualTo("Test User");
         assertThat(result.getLoginTime()).isNotNull();
 
-        verify(userRepository).findByEmailOrUsername("test@example.com");
+        verify(userCache).findForLogin("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtUtil).generateToken(1L, "testuser", "test@example.com");
+        verify(jwtUtil).generateToken(1L, "testuser", "test@example.com", List.of());
         verify(jwtUtil).getExpirationTime();
     }
 
+    @Test
+    @DisplayName("Should re-encode password hash with outdated settings at login")
+    void shouldReencodeOutdatedPasswordHashAtLogin() {
+        when(userCache.findForLogin("test@example.com")).thenReturn(savedUser);
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("reencodedPassword");
+        when(userRepository.updatePassword(1L, "encodedPassword", "reencodedPassword")).thenReturn(1);
+        when(jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of())).thenReturn("jwtToken");
+        when(userRepository.getReferenceById(1L)).thenReturn(savedUser);
+        when(refreshTokenService.issueToken(savedUser)).thenReturn("refreshToken");
+
+        LoginResponseDTO result = userService.loginUser(loginRequestDTO).join();
+
+        assertThat(result.getToken()).isEqualTo("jwtToken");
+        assertThat(savedUser.getPassword()).isEqualTo("reencodedPassword");
+        verify(userRepository).updatePassword(1L, "encodedPassword", "reencodedPassword");
+        verify(userCache).invalidate(savedUser);
+    }
+
+    @Test
+    @DisplayName("Should keep password hash with current settings at login")
+    void shouldKeepCurrentPasswordHashAtLogin() {
+        when(userCache.findForLogin("test@example.com")).thenReturn(savedUser);
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(false);
+        when(jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of())).thenReturn("jwtToken");
+        when(userRepository.getReferenceById(1L)).thenReturn(savedUser);
+        when(refreshTokenService.issueToken(savedUser)).thenReturn("refreshToken");
+
+        userService.loginUser(loginRequestDTO).join();
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).updatePassword(any(), anyString(), anyString());
+        verify(userCache, never()).invalidate(any());
+    }
+
     @Test
     @DisplayName("Should throw UserNotFoundException when user does not exist")
     void shouldThrowUserNotFoundException() {
-        when(userRepository.findByEmailOrUsername("test@example.com")).thenReturn(null);
+        when(userCache.findForLogin("test@example.com")).thenReturn(null);
 
-        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO))
+        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessage("User not found with the provided credentials");
 
-        verify(userRepository).findByEmailOrUsername("test@example.com");
+        verify(userCache).findForLogin("test@example.com");
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString());
+        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString(), anyList());
     }
 
     @Test
     @DisplayName("Should throw InvalidCredentialsException when password is incorrect")
     void shouldThrowInvalidCredentialsException() {
-        when(userRepository.findByEmailOrUsername("test@example.com")).thenReturn(savedUser);
+        when(userCache.findForLogin("test@example.com")).thenReturn(savedUser);
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(false);
 
-        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO))
+        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Invalid credentials provided");
 
-        verify(userRepository).findByEmailOrUsername("test@example.com");
+        verify(userCache).findForLogin("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString());
+        verify(loginAttemptService).recordFailure(savedUser);
+        verify(loginAttemptService, never()).recordSuccess(any());
+        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a locked account before checking the password")
+    void shouldRejectLockedAccountBeforePasswordCheck() {
+        when(userCache.findForLogin("test@example.com")).thenReturn(savedUser);
+        doThrow(new AccountLockedException("Account is temporarily locked", 60))
+                .when(loginAttemptService).checkNotLocked(savedUser);
+
+        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(AccountLockedException.class);
+
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(loginAttemptService, never()).recordFailure(any());
+        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString(), anyList());
     }
 
     @Test
     @DisplayName("Should throw InvalidCredentialsException when unexpected error occurs during login")
     void shouldThrowInvalidCredentialsExceptionOnUnexpectedError() {
-        when(userRepository.findByEmailOrUsername("test@example.com")).thenThrow(new RuntimeException("Database error"));
+        when(userCache.findForLogin("test@example.com")).thenThrow(new RuntimeException("Database error"));
 
-        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO))
+        assertThatThrownBy(() -> userService.loginUser(loginRequestDTO).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Login failed due to an unexpected error");
 
-        verify(userRepository).findByEmailOrUsername("test@example.com");
+        verify(userCache).findForLogin("test@example.com");
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString());
+        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString(), anyList());
     }
 
     @Test
@@ -245,19 +353,68 @@ class UserServiceImplTest {
                 .password("password123")
                 .build();
 
-        when(userRepository.findByEmailOrUsername("testuser")).thenReturn(savedUser);
+        when(userCache.findForLogin("testuser")).thenReturn(savedUser);
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
-        when(jwtUtil.generateToken(1L, "testuser", "test@example.com")).thenReturn("jwtToken");
+        when(jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of())).thenReturn("jwtToken");
         when(jwtUtil.getExpirationTime()).thenReturn(86400000L);
 
-        LoginResponseDTO result = userService.loginUser(usernameLoginRequest);
+        LoginResponseDTO result = userService.loginUser(usernameLoginRequest).join();
 
         assertThat(result).isNotNull();
         assertThat(result.getToken()).isEqualTo("jwtToken");
         assertThat(result.getUsername()).isEqualTo("testuser");
 
-        verify(userRepository).findByEmailOrUsername("testuser");
+        verify(userCache).findForLogin("testuser");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtUtil).generateToken(1L, "testuser", "test@example.com");
+        verify(jwtUtil).generateToken(1L, "testuser", "test@example.com", List.of());
+    }
+
+    @Test
+    @DisplayName("Should issue new tokens when refresh token is valid")
+    void shouldRefreshTokenSuccessfully() {
+        RefreshTokenRequestDTO request = RefreshTokenRequestDTO.builder().refreshToken("oldRefreshToken").build();
+        when(refreshTokenService.rotateToken("oldRefreshToken"))
+                .thenReturn(new RefreshTokenService.Rotation(savedUser, "newRefreshToken"));
+        when(jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of())).thenReturn("jwtToken");
+
+        LoginResponseDTO result = userService.refreshToken(request);
+
+        assertThat(result.getToken()).isEqualTo("jwtToken");
+        assertThat(result.getRefreshToken()).isEqualTo("newRefreshToken");
+        assertThat(result.getUserId()).isEqualTo(1L);
+        verify(userCache, never()).findForLogin(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should not issue access token when refresh token is rejected")
+    void shouldNotIssueAccessTokenWhenRefreshTokenIsRejected() {
+        RefreshTokenRequestDTO request = RefreshTokenRequestDTO.builder().refreshToken("usedRefreshToken").build();
+        when(refreshTokenService.rotateToken("usedRefreshToken"))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token has already been used"));
+
+        assertThatThrownBy(() -> userService.refreshToken(request))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should put user roles into the access token")
+    void shouldPutUserRolesIntoAccessToken() {
+        savedUser.setRoles(Set.of(Role.of("TEACHER"), Role.of("ADMIN")));
+        when(userCache.findForLogin("test@example.com")).thenReturn(savedUser);
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of("ADMIN", "TEACHER"))).thenReturn("jwtToken");
+
+        LoginResponseDTO result = userService.loginUser(loginRequestDTO).join();
+
+        assertThat(result.getToken()).isEqualTo("jwtToken");
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value violates unique constraint",
+                        new SQLException("duplicate key", "23505"), constraintName));
     }
 }
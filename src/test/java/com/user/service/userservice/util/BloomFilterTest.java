@@ -0,0 +1,57 @@
+package com.user.service.userservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BloomFilter
+ * Tests membership guarantees and the false positive rate
+ */
+@DisplayName("Bloom Filter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should contain every added value")
+    void shouldContainEveryAddedValue() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        String[] values = IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String value : values) {
+            filter.put(value);
+        }
+
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured probability")
+    void shouldKeepFalsePositivesNearConfiguredProbability() {
+        BloomFilter filter = BloomFilter.create(10000, 0.01);
+        IntStream.range(0, 10000).forEach(i -> filter.put(UUID.randomUUID().toString()));
+
+        long falsePositives = IntStream.range(0, 100000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        assertThat(falsePositives).isLessThan(2000);
+    }
+
+    @Test
+    @DisplayName("Should size the filter from insertions and probability")
+    void shouldSizeFilter() {
+        BloomFilter filter = BloomFilter.create(100000, 0.001);
+
+        assertThat(filter.bitCount()).isBetween(1_430_000L, 1_440_000L);
+        assertThat(filter.hashFunctions()).isEqualTo(10);
+        assertThat(filter.mightContain("never-added")).isFalse();
+        assertThatThrownBy(() -> BloomFilter.create(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.user.service.userservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CalibratedBCryptPasswordEncoder
+ * Tests strength selection for a latency target and detection of hashes with a different strength
+ */
+@DisplayName("Calibrated BCrypt Password Encoder Tests")
+class CalibratedBCryptPasswordEncoderTest {
+
+    private static final Duration TARGET = Duration.ofMillis(50);
+
+    @Test
+    @DisplayName("Should pick the highest strength within the target latency")
+    void shouldPickHighestStrengthWithinTarget() {
+        // 2 ms at strength 8 -> 4, 8, 16, 32 ms at strengths 9 to 12, 64 ms at 13
+        assertThat(CalibratedBCryptPasswordEncoder.strengthFor(2_000_000, 8, TARGET, 4, 31)).isEqualTo(12);
+        // 20 ms at strength 8 -> 40 ms at 9
+        assertThat(CalibratedBCryptPasswordEncoder.strengthFor(20_000_000, 8, TARGET, 4, 31)).isEqualTo(9);
+        // 80 ms at strength 8 -> 40 ms at 7
+        assertThat(CalibratedBCryptPasswordEncoder.strengthFor(80_000_000, 8, TARGET, 4, 31)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should keep the strength within the configured bounds")
+    void shouldKeepStrengthWithinBounds() {
+        assertThat(CalibratedBCryptPasswordEncoder.strengthFor(80_000_000, 8, TARGET, 10, 16)).isEqualTo(10);
+        assertThat(CalibratedBCryptPasswordEncoder.strengthFor(1_000, 8, TARGET, 10, 16)).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Should request re-encoding only of hashes weaker than the encoder")
+    void shouldRequestReencodingOfWeakerHashesOnly() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123"))).isFalse();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password123"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-hash")).isFalse();
+        assertThat(encoder.matches("password123", new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should calibrate to a usable encoder")
+    void shouldCalibrateToUsableEncoder() {
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(TARGET, 4, 12);
+
+        assertThat(encoder.getStrength()).isBetween(4, 12);
+        assertThat(encoder.matches("password123", encoder.encode("password123"))).isTrue();
+    }
+}
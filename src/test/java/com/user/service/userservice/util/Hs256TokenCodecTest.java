@@ -0,0 +1,153 @@
+package com.user.service.userservice.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for Hs256TokenCodec
+ * Tests interoperability with jjwt in both directions and rejection of invalid tokens
+ */
+@DisplayName("HS256 Token Codec Tests")
+class Hs256TokenCodecTest {
+
+    private SecretKeySpec secretKey;
+    private JwtKey jwtKey;
+    private Hs256TokenCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        secretKey = new SecretKeySpec("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII), "HmacSHA256");
+        jwtKey = JwtKey.builder().keyId("k1").algorithm("HS256").signingKey(secretKey).verificationKey(secretKey).build();
+        codec = new Hs256TokenCodec(JwtKeyRing.of(List.of(jwtKey), null));
+    }
+
+    @Test
+    @DisplayName("Should issue tokens that jjwt verifies")
+    void shouldIssueTokensThatJjwtVerifies() {
+        long now = Instant.now().getEpochSecond();
+
+        String token = codec.encode(jwtKey, TokenFormat.STANDARD, "token-1", 42L, "jöhn \"doe\"", "john@example.com", "ADMIN,STUDENT", now, now + 60);
+
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        assertThat(claims.getSubject()).isEqualTo("jöhn \"doe\"");
+        assertThat(claims.getId()).isEqualTo("token-1");
+        assertThat(claims.get("roles", String.class)).isEqualTo("ADMIN,STUDENT");
+        assertThat(claims.get("userId", Long.class)).isEqualTo(42L);
+        assertThat(claims.get("email", String.class)).isEqualTo("john@example.com");
+        assertThat(claims.getExpiration().toInstant().getEpochSecond()).isEqualTo(now + 60);
+    }
+
+    @Test
+    @DisplayName("Should verify tokens issued by jjwt")
+    void shouldVerifyTokensIssuedByJjwt() {
+        Date issuedAt = new Date();
+        String token = Jwts.builder()
+                .header().keyId("k1").and()
+                .id("token-7")
+                .claim("userId", 7L)
+                .claim("username", "testuser")
+                .claim("email", "test@example.com")
+                .claim("roles", "TEACHER")
+                .subject("testuser")
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + 60000))
+                .signWith(secretKey, Jwts.SIG.HS256)
+                .compact();
+
+        VerifiedToken verifiedToken = codec.decode(token, Instant.now());
+
+        assertThat(verifiedToken).isNotNull();
+        assertThat(verifiedToken.getSubject()).isEqualTo("testuser");
+        assertThat(verifiedToken.getTokenId()).isEqualTo("token-7");
+        assertThat(verifiedToken.getUserId()).isEqualTo(7L);
+        assertThat(verifiedToken.getEmail()).isEqualTo("test@example.com");
+        assertThat(verifiedToken.getAuthorities()).isSameAs(RoleAuthorities.fromClaim("TEACHER"));
+        assertThat(verifiedToken.getExpiresAt().getEpochSecond()).isEqualTo(issuedAt.getTime() / 1000 + 60);
+    }
+
+    @Test
+    @DisplayName("Should round-trip compact tokens with jjwt")
+    void shouldRoundTripCompactTokensWithJjwt() {
+        long now = Instant.now().getEpochSecond();
+
+        String token = codec.encode(jwtKey, TokenFormat.COMPACT, "token-1", 42L, "testuser", null, "ADMIN", now, now + 60);
+
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        assertThat(claims.getSubject()).isEqualTo("testuser");
+        assertThat(claims.get("uid", Long.class)).isEqualTo(42L);
+        assertThat(claims.get("rl", String.class)).isEqualTo("ADMIN");
+        assertThat(claims).doesNotContainKeys("username", "userId", "email", "em");
+
+        VerifiedToken verifiedToken = codec.decode(token, Instant.now());
+        assertThat(verifiedToken.getSubject()).isEqualTo("testuser");
+        assertThat(verifiedToken.getUserId()).isEqualTo(42L);
+        assertThat(verifiedToken.getEmail()).isNull();
+        assertThat(verifiedToken.getAuthorities()).isSameAs(RoleAuthorities.fromClaim("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered signature")
+    void shouldRejectTamperedSignature() {
+        long now = Instant.now().getEpochSecond();
+        String token = codec.encode(jwtKey, TokenFormat.STANDARD, "token-1", 1L, "testuser", "test@example.com", null, now, now + 60);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> codec.decode(tampered, Instant.now()))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void shouldRejectExpiredToken() {
+        long now = Instant.now().getEpochSecond();
+        String token = codec.encode(jwtKey, TokenFormat.STANDARD, "token-1", 1L, "testuser", "test@example.com", null, now - 120, now - 60);
+
+        assertThatThrownBy(() -> codec.decode(token, Instant.now()))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should leave other algorithms to jjwt")
+    void shouldLeaveOtherAlgorithmsToJjwt() {
+        String token = Jwts.builder()
+                .header().keyId("k1").and()
+                .subject("testuser")
+                .signWith(Jwts.SIG.HS384.key().build())
+                .compact();
+
+        assertThat(codec.decode(token, Instant.now())).isNull();
+        assertThat(codec.decode("not-a-token", Instant.now())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not sign or verify with HS384 or HS512 keys")
+    void shouldNotSupportLongerHmacKeys() {
+        SecretKeySpec hs512Key = new SecretKeySpec(new byte[64], "HmacSHA512");
+        JwtKey mislabelled = JwtKey.builder().keyId("k2").algorithm("HS256").signingKey(hs512Key).verificationKey(hs512Key).build();
+        JwtKey hs512 = JwtKey.builder().keyId("k3").algorithm("HS512").signingKey(hs512Key).verificationKey(hs512Key).build();
+        Hs256TokenCodec hs512Codec = new Hs256TokenCodec(JwtKeyRing.of(List.of(mislabelled, hs512), null));
+        String token = Jwts.builder()
+                .header().keyId("k2").and()
+                .subject("testuser")
+                .signWith(new SecretKeySpec(new byte[64], "HmacSHA256"), Jwts.SIG.HS256)
+                .compact();
+
+        assertThat(Hs256TokenCodec.supports(mislabelled)).isFalse();
+        assertThat(Hs256TokenCodec.supports(hs512)).isFalse();
+        assertThat(hs512Codec.decode(token, Instant.now())).isNull();
+    }
+}
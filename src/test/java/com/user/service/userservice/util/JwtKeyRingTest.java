@@ -0,0 +1,135 @@
+package com.user.service.userservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JwtKeyRing
+ * Tests signing key selection, activation delay and retirement of superseded keys
+ */
+@DisplayName("JWT Key Ring Tests")
+class JwtKeyRingTest {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+    private static final Duration ACTIVATION_DELAY = Duration.ofMinutes(5);
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(24);
+
+    @Test
+    @DisplayName("Should sign with the oldest key until its successor activates")
+    void shouldSignWithOldestKeyUntilSuccessorActivates() throws Exception {
+        Instant now = Instant.now();
+        KeyStore keyStore = keyStore();
+        addHmacKey(keyStore, "k1", 1);
+        addHmacKey(keyStore, "k2", 2);
+
+        JwtKeyRing keyRing = JwtKeyRing.fromKeyStore(keyStore, PASSWORD, ACTIVATION_DELAY, TOKEN_LIFETIME, null, now);
+
+        assertThat(keyRing.signingKey(now).getKeyId()).isEqualTo("k1");
+        assertThat(keyRing.signingKey(now.plus(Duration.ofMinutes(6))).getKeyId()).isEqualTo("k2");
+        assertThat(keyRing.verificationKey("k2", now)).isNotNull();
+        assertThat(keyRing.signingKey(now).getAlgorithm()).isEqualTo("HS256");
+    }
+
+    @Test
+    @DisplayName("Should retire a superseded key one token lifetime after its successor activates")
+    void shouldRetireSupersededKey() throws Exception {
+        Instant now = Instant.now();
+        KeyStore keyStore = keyStore();
+        addHmacKey(keyStore, "k1", 1);
+        addHmacKey(keyStore, "k2", 2);
+
+        JwtKeyRing keyRing = JwtKeyRing.fromKeyStore(keyStore, PASSWORD, ACTIVATION_DELAY, TOKEN_LIFETIME, null, now);
+
+        Instant afterRetirement = now.plus(ACTIVATION_DELAY).plus(TOKEN_LIFETIME).plusSeconds(1);
+        assertThat(keyRing.verificationKey("k1", now.plus(Duration.ofHours(1)))).isNotNull();
+        assertThat(keyRing.verificationKey("k1", afterRetirement)).isNull();
+        assertThat(keyRing.verificationKey("k2", afterRetirement)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should use legacy key for tokens without key id")
+    void shouldUseLegacyKeyForTokensWithoutKeyId() {
+        SecretKeySpec secret = new SecretKeySpec(new byte[32], "HmacSHA256");
+        JwtKey legacyKey = JwtKey.builder().algorithm("HS256").signingKey(secret).verificationKey(secret).build();
+
+        JwtKeyRing keyRing = JwtKeyRing.of(List.of(), legacyKey);
+
+        assertThat(keyRing.verificationKey(null, Instant.now())).isSameAs(legacyKey);
+        assertThat(keyRing.verificationKey("unknown", Instant.now())).isNull();
+        assertThat(keyRing.signingKey(Instant.now())).isSameAs(legacyKey);
+    }
+
+    @Test
+    @DisplayName("Should retire the legacy key one token lifetime after the oldest keystore key activates")
+    void shouldRetireLegacyKeyAfterKeystoreKeyActivates() throws Exception {
+        Instant now = Instant.now();
+        KeyStore keyStore = keyStore();
+        addHmacKey(keyStore, "k1", 1);
+        SecretKeySpec secret = new SecretKeySpec(new byte[32], "HmacSHA256");
+        JwtKey legacyKey = JwtKey.builder().algorithm("HS256").signingKey(secret).verificationKey(secret).build();
+
+        JwtKeyRing keyRing = JwtKeyRing.fromKeyStore(keyStore, PASSWORD, ACTIVATION_DELAY, TOKEN_LIFETIME,
+                legacyKey, now);
+        Instant afterRetirement = now.plus(ACTIVATION_DELAY).plus(TOKEN_LIFETIME).plusSeconds(1);
+
+        assertThat(keyRing.verificationKey(null, now.plus(Duration.ofHours(1)))).isNotNull();
+        assertThat(keyRing.verificationKey(null, afterRetirement)).isNull();
+        assertThat(JwtKeyRing.fromKeyStore(keyStore, PASSWORD, ACTIVATION_DELAY, TOKEN_LIFETIME, legacyKey,
+                afterRetirement).getLegacyKey()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should accept EC keys on P-256 and Ed25519 keys")
+    void shouldAcceptSupportedPublicKeys() throws Exception {
+        assertThat(JwtKeyRing.signatureAlgorithm("k1", ecPublicKey("secp256r1"))).isEqualTo("ES256");
+        assertThat(JwtKeyRing.signatureAlgorithm("k2",
+                KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic())).isEqualTo("EdDSA");
+    }
+
+    @Test
+    @DisplayName("Should reject EC keys on curves other than P-256")
+    void shouldRejectEcKeysOnOtherCurves() throws Exception {
+        PublicKey p384 = ecPublicKey("secp384r1");
+
+        assertThatThrownBy(() -> JwtKeyRing.signatureAlgorithm("k1", p384))
+                .isInstanceOf(KeyStoreException.class)
+                .hasMessageContaining("P-256");
+    }
+
+    private static PublicKey ecPublicKey(String curve) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        return generator.generateKeyPair().getPublic();
+    }
+
+    private static KeyStore keyStore() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        return keyStore;
+    }
+
+    private static void addHmacKey(KeyStore keyStore, String alias, int seed) throws Exception {
+        byte[] bytes = new byte[32];
+        bytes[0] = (byte) seed;
+        keyStore.setEntry(alias, new KeyStore.SecretKeyEntry(new SecretKeySpec(bytes, "HmacSHA256")),
+                new KeyStore.PasswordProtection(PASSWORD));
+        // creation dates have millisecond resolution; keep the keys strictly ordered
+        while (!keyStore.getCreationDate(alias).before(new Date())) {
+            Thread.onSpinWait();
+        }
+    }
+}
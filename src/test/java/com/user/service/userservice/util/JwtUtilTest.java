@@ -1,17 +1,33 @@
 package com.user.service.userservice.util;
 
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
 import java.security.SignatureException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -221,4 +237,315 @@ class JwtUtilTest {
         assertThat(extractedUserId).isEqualTo(userId);
         assertThat(extractedEmail).isEqualTo(email);
     }
+
+    @Test
+    @DisplayName("Should reuse signing key across calls and honour a reloaded secret")
+    void shouldHonourReloadedSecret() {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        assertThat(jwtUtil.validateToken(token, "testuser")).isTrue();
+
+        jwtUtil.reloadSecret("anotherSecretKeyForTestingPurposesThatIsAlsoLongEnough");
+
+        assertThat(jwtUtil.validateToken(token, "testuser")).isFalse();
+        String reissued = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        assertThat(jwtUtil.validateToken(reissued, "testuser")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should verify token once and expose all claims")
+    void shouldVerifyTokenAndExposeClaims() {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+
+        assertThat(verifiedToken.getSubject()).isEqualTo("testuser");
+        assertThat(verifiedToken.getUserId()).isEqualTo(1L);
+        assertThat(verifiedToken.getEmail()).isEqualTo("test@example.com");
+        assertThat(verifiedToken.getIssuedAt()).isNotNull();
+        assertThat(verifiedToken.getExpiresAt()).isAfter(verifiedToken.getIssuedAt());
+        assertThat(verifiedToken.isExpiredAt(Instant.now())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject expired token when verifying")
+    void shouldRejectExpiredTokenWhenVerifying() {
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed token when verifying")
+    void shouldRejectMalformedTokenWhenVerifying() {
+        assertThatThrownBy(() -> jwtUtil.verifyToken("malformed.token.here"))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should sign with ES256 and publish the public key with its key id")
+    void shouldSignWithEs256AndPublishPublicKey() {
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", "ES256");
+        ReflectionTestUtils.setField(jwtUtil, "ephemeralKeysEnabled", true);
+
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        PublicJwkSet jwkSet = jwtUtil.getPublicJwkSet();
+
+        assertThat(jwtUtil.verifyToken(token).getSubject()).isEqualTo("testuser");
+        assertThat(jwkSet.getKeys().size()).isEqualTo(1);
+        Map<String, Object> jwk = jwkSet.getKeys().get(0);
+        assertThat(jwk.get("kty")).isEqualTo("EC");
+        assertThat(jwk.get("crv")).isEqualTo("P-256");
+        assertThat(jwk.get("alg")).isEqualTo("ES256");
+        assertThat(token).startsWith(headerWithKeyId(token, (String) jwk.get("kid")));
+    }
+
+    @Test
+    @DisplayName("Should sign with EdDSA and publish an OKP key")
+    void shouldSignWithEdDsaAndPublishOkpKey() {
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", "EdDSA");
+        ReflectionTestUtils.setField(jwtUtil, "ephemeralKeysEnabled", true);
+
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThat(jwtUtil.verifyToken(token).getSubject()).isEqualTo("testuser");
+        Map<String, Object> jwk = jwtUtil.getPublicJwkSet().getKeys().get(0);
+        assertThat(jwk.get("kty")).isEqualTo("OKP");
+        assertThat(jwk.get("crv")).isEqualTo("Ed25519");
+    }
+
+    @Test
+    @DisplayName("Should never publish the HMAC secret")
+    void shouldNotPublishHmacSecret() {
+        assertThat(jwtUtil.getPublicJwkSet().getKeys().size()).isZero();
+        assertThat(jwtUtil.getPublicJwkSet().getEtag()).isNotBlank();
+    }
+
+    private static String headerWithKeyId(String token, String keyId) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        assertThat(header).contains("\"kid\":\"" + keyId + "\"");
+        return token.substring(0, token.indexOf('.'));
+    }
+
+    @Test
+    @DisplayName("Should rotate keys from a reloaded keystore without invalidating outstanding tokens")
+    void shouldRotateKeysFromReloadedKeystore(@TempDir Path tempDir) throws Exception {
+        Path keystoreFile = tempDir.resolve("jwt.p12");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        addHmacKey(keyStore, "k1", 1);
+        storeKeystore(keyStore, keystoreFile, 1000L);
+        ReflectionTestUtils.setField(jwtUtil, "keystoreLocation", "file:" + keystoreFile);
+        ReflectionTestUtils.setField(jwtUtil, "keystorePassword", "changeit");
+        ReflectionTestUtils.setField(jwtUtil, "keystoreActivationDelay", Duration.ZERO);
+
+        String oldToken = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        addHmacKey(keyStore, "k2", 2);
+        storeKeystore(keyStore, keystoreFile, 2000L);
+        jwtUtil.reloadKeystoreIfModified();
+        String newToken = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThat(keyId(oldToken)).isEqualTo("k1");
+        assertThat(keyId(newToken)).isEqualTo("k2");
+        assertThat(jwtUtil.validateToken(oldToken, "testuser")).isTrue();
+        assertThat(jwtUtil.validateToken(newToken, "testuser")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a token without key id signed with the secret in keystore mode")
+    void shouldRejectLegacyTokenInKeystoreMode(@TempDir Path tempDir) throws Exception {
+        useKeystore(tempDir);
+        String legacyToken = legacyToken();
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(legacyToken))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a token without key id signed with the secret in ES256 mode")
+    void shouldRejectLegacyTokenInEs256Mode() {
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", "ES256");
+        ReflectionTestUtils.setField(jwtUtil, "ephemeralKeysEnabled", true);
+        String legacyToken = legacyToken();
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(legacyToken))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse ES256 without a keystore unless ephemeral keys are enabled")
+    void shouldRequireKeystoreForEs256() {
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", "ES256");
+
+        assertThatThrownBy(() -> jwtUtil.init())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jwt.keystore.location");
+    }
+
+    @Test
+    @DisplayName("Should refuse HS256 without a secret")
+    void shouldRequireSecretForHs256() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "");
+
+        assertThatThrownBy(() -> jwtUtil.init())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jwt.secret");
+    }
+
+    @Test
+    @DisplayName("Should not derive a key from the secret in keystore mode")
+    void shouldIgnoreSecretInKeystoreMode(@TempDir Path tempDir) throws Exception {
+        useKeystore(tempDir);
+        ReflectionTestUtils.setField(jwtUtil, "secret", "short");
+
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThat(jwtUtil.validateToken(token, "testuser")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept a token without key id in keystore mode while legacy tokens are enabled")
+    void shouldAcceptLegacyTokenWhenEnabled(@TempDir Path tempDir) throws Exception {
+        useKeystore(tempDir);
+        ReflectionTestUtils.setField(jwtUtil, "legacyTokensEnabled", true);
+        String legacyToken = legacyToken();
+
+        assertThat(jwtUtil.extractUsername(legacyToken)).isEqualTo("testuser");
+    }
+
+    private void useKeystore(Path tempDir) throws Exception {
+        Path keystoreFile = tempDir.resolve("jwt.p12");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        addHmacKey(keyStore, "k1", 1);
+        storeKeystore(keyStore, keystoreFile, 1000L);
+        ReflectionTestUtils.setField(jwtUtil, "keystoreLocation", "file:" + keystoreFile);
+        ReflectionTestUtils.setField(jwtUtil, "keystorePassword", "changeit");
+        ReflectionTestUtils.setField(jwtUtil, "keystoreActivationDelay", Duration.ZERO);
+    }
+
+    private static String legacyToken() {
+        return Jwts.builder().subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes())).compact();
+    }
+
+    private static void addHmacKey(KeyStore keyStore, String alias, int seed) throws Exception {
+        byte[] bytes = new byte[32];
+        bytes[0] = (byte) seed;
+        keyStore.setEntry(alias, new KeyStore.SecretKeyEntry(new SecretKeySpec(bytes, "HmacSHA256")),
+                new KeyStore.PasswordProtection("changeit".toCharArray()));
+    }
+
+    private static void storeKeystore(KeyStore keyStore, Path file, long lastModified) throws Exception {
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            keyStore.store(outputStream, "changeit".toCharArray());
+        }
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+
+    private static String keyId(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        int start = header.indexOf("\"kid\":\"") + 7;
+        return header.substring(start, header.indexOf('"', start));
+    }
+
+    @Test
+    @DisplayName("Should issue and verify tokens on the HS256 fast path")
+    void shouldIssueAndVerifyTokensOnFastPath() {
+        String jjwtToken = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true);
+
+        String fastToken = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThat(jwtUtil.verifyToken(fastToken).getUserId()).isEqualTo(1L);
+        assertThat(jwtUtil.extractUsername(fastToken)).isEqualTo("testuser");
+        assertThat(jwtUtil.verifyToken(jjwtToken).getSubject()).isEqualTo("testuser");
+    }
+
+    @Test
+    @DisplayName("Should leave secrets that jjwt treats as HS512 to jjwt")
+    void shouldFallBackToJjwtForHs512Secret() {
+        String hs512Secret = SECRET_KEY + SECRET_KEY;
+        ReflectionTestUtils.setField(jwtUtil, "secret", hs512Secret);
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true);
+
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        String hs256Token = Jwts.builder().subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(new SecretKeySpec(hs512Secret.getBytes(), "HmacSHA256"), Jwts.SIG.HS256)
+                .compact();
+
+        assertThat(new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')))))
+                .contains("\"alg\":\"HS512\"");
+        assertThat(jwtUtil.verifyToken(token).getUserId()).isEqualTo(1L);
+        assertThatThrownBy(() -> jwtUtil.verifyToken(hs256Token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should give every token a distinct jti on both paths")
+    void shouldGiveEveryTokenDistinctTokenId() {
+        String first = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        String second = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true);
+        String fast = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThat(jwtUtil.verifyToken(first).getTokenId()).isNotNull();
+        assertThat(jwtUtil.verifyToken(first).getTokenId()).isNotEqualTo(jwtUtil.verifyToken(second).getTokenId());
+        assertThat(jwtUtil.verifyToken(fast).getTokenId()).hasSize(36);
+    }
+
+    @Test
+    @DisplayName("Should carry roles as shared authorities on both paths")
+    void shouldCarryRolesAsSharedAuthorities() {
+        String jjwtToken = jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of("TEACHER", "ADMIN"));
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true);
+        String fastToken = jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of("ADMIN", "TEACHER"));
+
+        VerifiedToken fromJjwt = jwtUtil.verifyToken(jjwtToken);
+        VerifiedToken fromFastPath = jwtUtil.verifyToken(fastToken);
+
+        assertThat(fromJjwt.getAuthorities()).isSameAs(fromFastPath.getAuthorities());
+        assertThat(fromJjwt.getAuthorities().size()).isEqualTo(2);
+        assertThat(jwtUtil.verifyToken(jwtUtil.generateToken(1L, "testuser", "test@example.com")).getAuthorities().size())
+                .isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should issue compact tokens and keep accepting standard ones")
+    void shouldIssueCompactTokensAndKeepAcceptingStandardOnes() {
+        String standardToken = jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of("ADMIN"));
+        ReflectionTestUtils.setField(jwtUtil, "tokenFormat", TokenFormat.COMPACT);
+        String compactToken = jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of("ADMIN"));
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", true);
+        String fastCompactToken = jwtUtil.generateToken(1L, "testuser", "test@example.com", List.of("ADMIN"));
+
+        assertThat(compactToken.length()).isLessThan(standardToken.length());
+        for (String token : List.of(standardToken, compactToken, fastCompactToken)) {
+            VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+            assertThat(verifiedToken.getSubject()).isEqualTo("testuser");
+            assertThat(verifiedToken.getUserId()).isEqualTo(1L);
+            assertThat(verifiedToken.getEmail()).isEqualTo("test@example.com");
+            assertThat(verifiedToken.getAuthorities()).isSameAs(RoleAuthorities.fromClaim("ADMIN"));
+        }
+        ReflectionTestUtils.setField(jwtUtil, "fastPathEnabled", false);
+        assertThat(jwtUtil.verifyToken(fastCompactToken).getTokenId()).hasSize(22);
+    }
+
+    @Test
+    @DisplayName("Should omit email from compact tokens when configured")
+    void shouldOmitEmailFromCompactTokensWhenConfigured() {
+        ReflectionTestUtils.setField(jwtUtil, "tokenFormat", TokenFormat.COMPACT);
+        ReflectionTestUtils.setField(jwtUtil, "compactIncludeEmail", false);
+
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        assertThat(jwtUtil.verifyToken(token).getEmail()).isNull();
+        assertThat(jwtUtil.verifyToken(token).getUserId()).isEqualTo(1L);
+        assertThat(jwtUtil.validateToken(token, "testuser")).isTrue();
+    }
 }
@@ -0,0 +1,98 @@
+package com.user.service.userservice.util;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.user.service.userservice.exception.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LoginRateLimiter
+ * Tests per-identifier and per-IP budgets, refill over time and eviction of idle keys
+ */
+@DisplayName("Login Rate Limiter Tests")
+class LoginRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // 3 attempts per identifier, one more every minute; 5 per IP, one more every second
+        limiter = new LoginRateLimiter(true, 3, Duration.ofMinutes(1), 5, Duration.ofSeconds(1),
+                Duration.ofMinutes(10), 1000, ticker);
+    }
+
+    @Test
+    @DisplayName("Should reject an identifier after its budget is spent")
+    void shouldRejectIdentifierAfterBudgetIsSpent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("testuser", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> limiter.checkLogin(" TestUser ", "10.0.0.9"))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .extracting(e -> ((TooManyLoginAttemptsException) e).getRetryAfterSeconds())
+                .isEqualTo(60L);
+        assertThatCode(() -> limiter.checkLogin("otheruser", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should reject a client IP after its budget is spent")
+    void shouldRejectClientIpAfterBudgetIsSpent() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkLogin("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> limiter.checkLogin("user9", "10.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .extracting(e -> ((TooManyLoginAttemptsException) e).getRetryAfterSeconds())
+                .isEqualTo(1L);
+        assertThatCode(() -> limiter.checkLogin("user9", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should refill one attempt per interval")
+    void shouldRefillOneAttemptPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("testuser", "10.0.0." + i);
+        }
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertThatCode(() -> limiter.checkLogin("testuser", "10.0.0.9")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.checkLogin("testuser", "10.0.0.9"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    @DisplayName("Should evict idle keys")
+    void shouldEvictIdleKeys() {
+        limiter.checkLogin("testuser", "10.0.0.1");
+        assertThat(limiter.size()).isEqualTo(2);
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        limiter.checkLogin("otheruser", "10.0.0.2");
+
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should allow everything when disabled")
+    void shouldAllowEverythingWhenDisabled() {
+        LoginRateLimiter disabled = new LoginRateLimiter(false, 1, Duration.ofMinutes(1), 1, Duration.ofMinutes(1),
+                Duration.ofMinutes(10), 1000, ticker);
+
+        for (int i = 0; i < 10; i++) {
+            disabled.checkLogin("testuser", "10.0.0.1");
+        }
+        assertThat(disabled.size()).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package com.user.service.userservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PageCursor
+ * Tests that cursors survive encoding and that foreign strings are rejected
+ */
+@DisplayName("Page Cursor Tests")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor to the same position")
+    void shouldRoundTrip() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(PageCursor.valueOf(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should reject strings that are not cursors")
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> PageCursor.valueOf("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.valueOf("bm90LWEtY3Vyc29y")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.valueOf("MjAyNS0wMS0xNVQxMDozMCxhYmM")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.user.service.userservice.util;
+
+import com.user.service.userservice.exception.ServerBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PasswordHashingExecutor
+ * Tests task execution, fast rejection when the queue is full and the published metrics
+ */
+@DisplayName("Password Hashing Executor Tests")
+class PasswordHashingExecutorTest {
+
+    private MeterRegistry meterRegistry;
+    private ExecutorService completionExecutor;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        ObjectProvider<MeterRegistry> provider = beanFactory.getBeanProvider(MeterRegistry.class);
+        completionExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("completion-"));
+        executor = new PasswordHashingExecutor(1, 1, 3, completionExecutor, provider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        completionExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks off the calling thread")
+    void shouldRunTasksOffCallingThread() throws Exception {
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertThat(threadName).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("executor").tag("name", "password.hashing").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resume callers on the completion executor")
+    void shouldCompleteOnCompletionExecutor() throws Exception {
+        String threadName = executor.submit(() -> "hashed")
+                .thenApply(result -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(threadName).startsWith("completion-");
+    }
+
+    @Test
+    @DisplayName("Should propagate task failures")
+    void shouldPropagateTaskFailures() {
+        CompletableFuture<String> future = executor.submit(() -> {
+            throw new IllegalStateException("hash failed");
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("hash failed");
+    }
+
+    @Test
+    @DisplayName("Should reject with Retry-After when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+        assertThat(meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value()).isEqualTo(1);
+        assertThatThrownBy(() -> executor.submit(() -> "rejected"))
+                .isInstanceOf(ServerBusyException.class)
+                .extracting(e -> ((ServerBusyException) e).getRetryAfterSeconds())
+                .isEqualTo(3L);
+        assertThat(meterRegistry.get("password.hashing.rejected").functionCounter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+    }
+}
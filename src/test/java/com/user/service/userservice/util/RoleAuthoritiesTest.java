@@ -0,0 +1,45 @@
+package com.user.service.userservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RoleAuthorities
+ * Tests claim encoding and interning of authority sets
+ */
+@DisplayName("Role Authorities Tests")
+class RoleAuthoritiesTest {
+
+    @Test
+    @DisplayName("Should encode roles as a sorted compact claim")
+    void shouldEncodeRolesAsSortedClaim() {
+        assertThat(RoleAuthorities.toClaim(List.of("TEACHER", "ADMIN", "TEACHER"))).isEqualTo("ADMIN,TEACHER");
+        assertThat(RoleAuthorities.toClaim(List.of())).isNull();
+        assertThat(RoleAuthorities.toClaim(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should share one immutable authority set per claim value")
+    void shouldShareAuthoritySetPerClaim() {
+        Set<GrantedAuthority> first = RoleAuthorities.fromClaim("ADMIN,STUDENT");
+        Set<GrantedAuthority> second = RoleAuthorities.fromClaim(new String("ADMIN,STUDENT"));
+
+        assertThat(first).isSameAs(second);
+        assertThat(first).extracting(GrantedAuthority::getAuthority).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_STUDENT");
+        assertThatThrownBy(() -> first.clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should return empty authorities for a missing claim")
+    void shouldReturnEmptyAuthoritiesForMissingClaim() {
+        assertThat(RoleAuthorities.fromClaim(null)).isEmpty();
+        assertThat(RoleAuthorities.fromClaim("")).isEmpty();
+    }
+}
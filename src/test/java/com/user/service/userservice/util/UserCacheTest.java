@@ -0,0 +1,152 @@
+package com.user.service.userservice.util;
+
+import com.user.service.userservice.entity.User;
+import com.user.service.userservice.repository.UserLoginRow;
+import com.user.service.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserCache
+ * Tests read-through hits, case-insensitive keys, local and cross-instance invalidation and TTL expiry
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Cache Tests")
+class UserCacheTest {
+
+    private static final List<UserLoginRow> ROWS = List.of(
+            new UserLoginRow(1L, "testuser", "test@example.com", "encodedPassword", "Test User", 0, null, "ADMIN"));
+
+    private static final List<UserLoginRow> OTHER_ROWS = List.of(
+            new UserLoginRow(2L, "otheruser", "other@example.com", "encodedPassword", "Other User", 0, null, null));
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong ticker = new AtomicLong();
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, true, 100, Duration.ofMinutes(1), ticker::get);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat lookups from the cache as separate instances")
+    void shouldServeRepeatLookupsFromCache() {
+        when(userRepository.findLoginRows("test@example.com")).thenReturn(ROWS);
+
+        User first = userCache.findForLogin("test@example.com");
+        User second = userCache.findForLogin("TEST@example.com");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(1L);
+        assertThat(second.getPassword()).isEqualTo("encodedPassword");
+        verify(userRepository, times(1)).findLoginRows(anyString());
+        assertThat(userCache.stats().hitCount()).isEqualTo(1);
+        assertThat(userCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown identifiers")
+    void shouldNotCacheUnknownIdentifiers() {
+        when(userRepository.findLoginRows("nobody")).thenReturn(List.of());
+
+        assertThat(userCache.findForLogin("nobody")).isNull();
+        assertThat(userCache.findForLogin("nobody")).isNull();
+
+        verify(userRepository, times(2)).findLoginRows("nobody");
+        assertThat(userCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload a user by username and email after invalidation")
+    void shouldReloadAfterInvalidation() {
+        when(userRepository.findLoginRows("testuser")).thenReturn(ROWS);
+        when(userRepository.findLoginRows("test@example.com")).thenReturn(ROWS);
+        userCache.findForLogin("testuser");
+        userCache.findForLogin("test@example.com");
+
+        userCache.invalidate(User.builder().username("TestUser").email("test@example.com").build());
+        userCache.findForLogin("testuser");
+        userCache.findForLogin("test@example.com");
+
+        verify(userRepository, times(2)).findLoginRows("testuser");
+        verify(userRepository, times(2)).findLoginRows("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reload a user once the TTL has passed")
+    void shouldReloadAfterTtl() {
+        when(userRepository.findLoginRows("testuser")).thenReturn(ROWS);
+        userCache.findForLogin("testuser");
+
+        ticker.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        userCache.findForLogin("testuser");
+
+        verify(userRepository, times(2)).findLoginRows("testuser");
+    }
+
+    @Test
+    @DisplayName("Should drop users updated on other instances at the next refresh")
+    void shouldDropUsersUpdatedElsewhereOnRefresh() {
+        LocalDateTime lockedUntil = LocalDateTime.now().plusMinutes(15);
+        when(userRepository.findLoginRows("testuser")).thenReturn(ROWS).thenReturn(List.of(
+                new UserLoginRow(1L, "testuser", "test@example.com", "encodedPassword", "Test User", 0, lockedUntil, "ADMIN")));
+        when(userRepository.findLoginRows("otheruser")).thenReturn(OTHER_ROWS);
+        userCache.findForLogin("testuser");
+        userCache.findForLogin("otheruser");
+
+        when(userRepository.findIdsUpdatedSince(any())).thenReturn(List.of(1L));
+        userCache.refresh();
+
+        assertThat(userCache.findForLogin("testuser").getLockedUntil()).isEqualTo(lockedUntil);
+        userCache.findForLogin("otheruser");
+        verify(userRepository, times(2)).findLoginRows("testuser");
+        verify(userRepository, times(1)).findLoginRows("otheruser");
+    }
+
+    @Test
+    @DisplayName("Should drop all users when the updated users cannot be read")
+    void shouldDropAllUsersWhenRefreshFails() {
+        when(userRepository.findLoginRows("testuser")).thenReturn(ROWS);
+        userCache.findForLogin("testuser");
+
+        when(userRepository.findIdsUpdatedSince(any())).thenThrow(new QueryTimeoutException("timeout"));
+        userCache.refresh();
+
+        assertThat(userCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read through to the repository when disabled")
+    void shouldReadThroughWhenDisabled() {
+        userCache = new UserCache(userRepository, false, 100, Duration.ofMinutes(1), ticker::get);
+        when(userRepository.findForLogin("testuser")).thenReturn(User.builder().id(1L).build());
+
+        userCache.findForLogin("testuser");
+        userCache.findForLogin("testuser");
+
+        verify(userRepository, times(2)).findForLogin("testuser");
+        verify(userRepository, never()).findLoginRows(anyString());
+    }
+}
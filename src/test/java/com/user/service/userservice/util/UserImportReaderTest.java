@@ -0,0 +1,109 @@
+package com.user.service.userservice.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.service.userservice.exception.InvalidImportException;
+import com.user.service.userservice.util.UserImportReader.Row;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for UserImportReader
+ * Tests CSV header mapping and quoting, NDJSON parsing, line numbers and format detection
+ */
+@DisplayName("User Import Reader Tests")
+class UserImportReaderTest {
+
+    // the application's mapper, which binds the DTO through its constructor parameter names
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("Should map CSV columns by header name and unquote fields")
+    void shouldReadCsvByHeader() {
+        List<Row> rows = readAll(UserDataFormat.CSV, "\uFEFF" + """
+                Password,Email,full_name,Username
+                password123,alice@example.com,"Smith, ""Al"" Alice",alice
+                password123,bob@example.com,,bob
+                """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).request().getUsername()).isEqualTo("alice");
+        assertThat(rows.get(0).request().getEmail()).isEqualTo("alice@example.com");
+        assertThat(rows.get(0).request().getPassword()).isEqualTo("password123");
+        assertThat(rows.get(0).request().getFullName()).isEqualTo("Smith, \"Al\" Alice");
+        assertThat(rows.get(1).request().getFullName()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines but keep counting them")
+    void shouldSkipBlankLines() {
+        List<Row> rows = readAll(UserDataFormat.CSV, "username,email,password\n\nalice,alice@example.com,password123\n  \n");
+
+        assertThat(rows).singleElement().extracting(Row::line).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should report an unterminated quote on its row only")
+    void shouldReportUnterminatedQuote() {
+        List<Row> rows = readAll(UserDataFormat.CSV, """
+                username,email,password
+                "alice,alice@example.com,password123
+                bob,bob@example.com,password123
+                """);
+
+        assertThat(rows.get(0).request()).isNull();
+        assertThat(rows.get(0).error()).isEqualTo("Malformed CSV: unterminated quoted field");
+        assertThat(rows.get(1).request().getUsername()).isEqualTo("bob");
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header without the required columns")
+    void shouldRejectCsvWithoutRequiredColumns() {
+        UserImportReader reader = new UserImportReader(
+                new StringReader("username,email\nalice,alice@example.com\n"), UserDataFormat.CSV, objectMapper);
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("CSV header must name the columns username, email and password");
+    }
+
+    @Test
+    @DisplayName("Should read one NDJSON object per line and report malformed lines")
+    void shouldReadNdjson() {
+        List<Row> rows = readAll(UserDataFormat.NDJSON, """
+                {"username":"alice","email":"alice@example.com","password":"password123","fullName":"Alice"}
+                not json
+                """);
+
+        assertThat(rows.get(0).request().getFullName()).isEqualTo("Alice");
+        assertThat(rows.get(1).line()).isEqualTo(2);
+        assertThat(rows.get(1).error()).isEqualTo("Malformed JSON");
+    }
+
+    @Test
+    @DisplayName("Should detect the format from content types and file names")
+    void shouldDetectFormat() {
+        assertThat(UserDataFormat.fromContentType("text/csv;charset=UTF-8")).isEqualTo(UserDataFormat.CSV);
+        assertThat(UserDataFormat.fromContentType("application/x-ndjson")).isEqualTo(UserDataFormat.NDJSON);
+        assertThat(UserDataFormat.fromFileName("district-7.CSV")).isEqualTo(UserDataFormat.CSV);
+        assertThat(UserDataFormat.fromFileName("district-7.jsonl")).isEqualTo(UserDataFormat.NDJSON);
+        assertThatThrownBy(() -> UserDataFormat.fromFileName("district-7.xlsx")).isInstanceOf(InvalidImportException.class);
+    }
+
+    private List<Row> readAll(UserDataFormat format, String body) {
+        UserImportReader reader = new UserImportReader(new StringReader(body), format, objectMapper);
+        List<Row> rows = new ArrayList<>();
+        for (Row row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,132 @@
+package com.user.service.userservice.util;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for VerifiedTokenCache
+ * Tests cache hits, expiry-bounded eviction and key rotation handling
+ */
+@DisplayName("Verified Token Cache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET_KEY = "mySecretKeyForTestingPurposesOnlyThisShouldBeLongEnough";
+
+    private JwtUtil jwtUtil;
+    private MutableClock clock;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60000L);
+        clock = new MutableClock(Instant.now());
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, 100, clock);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat token from cache")
+    void shouldServeRepeatTokenFromCache() {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+
+        VerifiedToken first = verifiedTokenCache.verify(token);
+        VerifiedToken second = verifiedTokenCache.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo("testuser");
+        assertThat(verifiedTokenCache.stats().hitCount()).isEqualTo(1);
+        assertThat(verifiedTokenCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict entry no later than token expiry")
+    void shouldEvictEntryAtTokenExpiry() {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        verifiedTokenCache.verify(token);
+        clock.advance(Duration.ofSeconds(30));
+        verifiedTokenCache.verify(token);
+        assertThat(verifiedTokenCache.stats().hitCount()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(31));
+        verifiedTokenCache.verify(token);
+
+        assertThat(verifiedTokenCache.stats().hitCount()).isEqualTo(1);
+        assertThat(verifiedTokenCache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should measure the remaining token lifetime on the cache clock")
+    void shouldMeasureRemainingLifetimeOnCacheClock() {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        clock.advance(Duration.ofSeconds(50));
+        verifiedTokenCache.verify(token);
+
+        clock.advance(Duration.ofSeconds(11));
+        verifiedTokenCache.verify(token);
+
+        assertThat(verifiedTokenCache.stats().hitCount()).isZero();
+        assertThat(verifiedTokenCache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid tokens")
+    void shouldNotCacheInvalidTokens() {
+        assertThatThrownBy(() -> verifiedTokenCache.verify("malformed.token.here"))
+                .isInstanceOf(JwtException.class);
+
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop cached tokens when signing key changes")
+    void shouldDropCachedTokensWhenSigningKeyChanges() {
+        String token = jwtUtil.generateToken(1L, "testuser", "test@example.com");
+        verifiedTokenCache.verify(token);
+
+        jwtUtil.reloadSecret("anotherSecretKeyForTestingPurposesThatIsAlsoLongEnough");
+
+        assertThatThrownBy(() -> verifiedTokenCache.verify(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}